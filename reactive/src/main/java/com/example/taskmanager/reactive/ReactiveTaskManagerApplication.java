@@ -0,0 +1,18 @@
+package com.example.taskmanager.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Реактивный вариант приложения: тот же контракт /api/tasks на WebFlux и R2DBC поверх той же схемы базы.
+ * Запускается вместо основного приложения (gradle :reactive:bootRun), а не рядом с ним, так как кэш задач
+ * основного приложения не узнает об изменениях, сделанных этим приложением.
+ */
+@SpringBootApplication
+public class ReactiveTaskManagerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTaskManagerApplication.class, args);
+    }
+
+}
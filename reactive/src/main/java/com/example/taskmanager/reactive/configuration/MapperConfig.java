@@ -0,0 +1,23 @@
+package com.example.taskmanager.reactive.configuration;
+
+import com.example.taskmanager.service.impl.CommentResponseMapper;
+import com.example.taskmanager.service.impl.TaskResponseMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Мапперы основного модуля, чтобы ответы реактивного API совпадали с ответами основного приложения
+ */
+@Configuration
+public class MapperConfig {
+
+    @Bean
+    public CommentResponseMapper commentResponseMapper() {
+        return new CommentResponseMapper();
+    }
+
+    @Bean
+    public TaskResponseMapper taskResponseMapper(CommentResponseMapper commentResponseMapper) {
+        return new TaskResponseMapper(commentResponseMapper);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanager.reactive.controller;
+
+import com.example.taskmanager.controller.dto.GlobalExceptionHandler.ErrorResponse;
+import com.example.taskmanager.exception.ApplicationException;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Обработчик исключений реактивного API: тела ошибок те же, что у GlobalExceptionHandler основного приложения
+ */
+@SuppressWarnings(value = "unused")
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Ошибки валидации тела запроса: имя поля и сообщение об ошибке
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error ->
+                errors.put(((FieldError) error).getField(), error.getDefaultMessage()));
+        return errors;
+    }
+
+    /**
+     * Ошибки валидации параметров запроса: имя параметра и сообщение об ошибке
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleParameterValidation(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getAllValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())));
+        return errors;
+    }
+
+    /**
+     * Исключения приложения: статус и сообщение из аннотации @ResponseStatus исключения
+     */
+    @ExceptionHandler(ApplicationException.class)
+    public ResponseEntity<ErrorResponse> handleApplicationException(ApplicationException ex) {
+        ResponseStatus responseStatus = AnnotationUtils.findAnnotation(ex.getClass(), ResponseStatus.class);
+        if (responseStatus == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse("An unexpected error occurred"));
+        }
+        String reason = responseStatus.reason().isEmpty() ? ex.getMessage() : responseStatus.reason();
+        return ResponseEntity.status(responseStatus.value()).body(new ErrorResponse(reason));
+    }
+
+    /**
+     * Задача была изменена другим запросом между чтением и изменением
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Task has been modified concurrently"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.taskmanager.reactive.controller;
+
+import com.example.taskmanager.controller.dto.CommentRequest;
+import com.example.taskmanager.controller.dto.PageResponse;
+import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.TaskVersion;
+import com.example.taskmanager.reactive.service.api.ReactiveTaskService;
+import com.example.taskmanager.service.impl.CommentResponseMapper;
+import com.example.taskmanager.service.impl.TaskResponseMapper;
+import com.example.taskmanager.utils.ETagUtils;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Реактивный вариант ApplicationController для основных операций с задачами: пути, параметры, ответы и ETag
+ * совпадают с основным приложением. Пакетные операции, поиск, выгрузка, статистика и потоки изменений
+ * обслуживает только основное приложение.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+    private final TaskResponseMapper taskMapper;
+    private final CommentResponseMapper commentMapper;
+
+    /**
+     * Метод обрабатывает post запрос для создания новой задачи.
+     *
+     * @param task --экземпляр TaskRequest для создания задачи
+     * @return {@link TaskResponse} с информацией о созданной задаче
+     */
+    @PostMapping("/create_task")
+    public Mono<TaskResponse> createTask(@Valid @RequestBody TaskRequest task) {
+        return taskService.createTask(task).map(taskMapper);
+    }
+
+    /**
+     * Метод обрабатывает get запрос для получения задачи по ее id.
+     * Если клиент передал If-None-Match с актуальной версией задачи, возвращается 304 без загрузки задачи.
+     *
+     * @param id          --идентификатор задачи
+     * @param ifNoneMatch --ETag задачи, сохраненный клиентом
+     * @param exchange    --текущий запрос
+     * @return {@link TaskResponse} с информацией о задаче и ETag ее версии
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> getTaskById(
+            @PathVariable @Min(value = 1, message = "id must be positive") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            ServerWebExchange exchange) {
+        Mono<ResponseEntity<TaskResponse>> task = taskService.getTaskById(id)
+                .map(found -> ResponseEntity.ok().eTag(ETagUtils.of(found.getVersion())).body(taskMapper.apply(found)));
+        if (ifNoneMatch == null) {
+            return task;
+        }
+        return taskService.getTaskVersion(id)
+                .flatMap(version -> exchange.checkNotModified(ETagUtils.of(version)) ? Mono.empty() : task);
+    }
+
+    /**
+     * Метод обрабатывает get запрос для получения списка задач пользователя по убыванию id.
+     *
+     * @param email    --email пользователя, для которого нужно получить список задач
+     * @param page     --номер страницы для пагинации
+     * @param size     --количество задач на странице
+     * @param exchange --текущий запрос
+     * @return {@link PageResponse} с информацией о задачах и ETag страницы
+     */
+    @GetMapping("/all_tasks")
+    public Mono<ResponseEntity<PageResponse<TaskResponse>>> getTasks(
+            @RequestParam @Email(message = "email must be in correct form") String email,
+            @RequestParam @Min(value = 0, message = "page must be minimum 0") int page,
+            @RequestParam @Min(value = 1, message = "size must be positive") int size,
+            ServerWebExchange exchange) {
+        return taskService.getAllTasksByUser(email, PageRequest.of(page, size)).mapNotNull(tasks -> {
+            String eTag = ETagUtils.of(tasks.map(TaskVersion::of));
+            if (exchange.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(eTag).body(PageResponse.valueOf(tasks.map(taskMapper)));
+        });
+    }
+
+    /**
+     * Метод обрабатывает patch запрос для изменения статуса задачи.
+     *
+     * @param id      --идентификатор задачи
+     * @param status  --новый статус задачи
+     * @param ifMatch --ETag версии задачи, которую изменяет клиент
+     * @return {@link TaskResponse} с информацией об обновленной задаче и ETag ее новой версии
+     */
+    @PatchMapping("/{id}/change_status")
+    public Mono<ResponseEntity<TaskResponse>> changeStatus(
+            @PathVariable @Min(value = 1, message = "id must be positive") Long id,
+            @NotNull(message = "status can't be null") @RequestParam Status status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.changeStatus(id, status, ETagUtils.parseVersion(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(ETagUtils.of(updated.getVersion())).body(taskMapper.apply(updated)));
+    }
+
+    /**
+     * Метод обрабатывает post запрос для добавления комментария к задаче без загрузки задачи.
+     *
+     * @param id      --идентификатор задачи
+     * @param comment --экземпляр комментария
+     * @return {@link TaskResponse.Comment} с информацией о добавленном комментарии
+     */
+    @PostMapping("{id}/append_comment")
+    public Mono<TaskResponse.Comment> appendComment(
+            @PathVariable @Min(value = 1, message = "id must be positive") Long id,
+            @Valid @RequestBody CommentRequest comment) {
+        return taskService.appendComment(id, comment.getDescription()).map(commentMapper);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanager.reactive.service.api;
+
+import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.dao.Comment;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Реактивный аналог TaskService для основных операций с задачами.
+ * Записи поддерживают те же производные данные, что и основное приложение: версию и номер изменения задачи,
+ * счетчики задач, outbox событий и поисковые векторы PostgreSQL.
+ */
+public interface ReactiveTaskService {
+
+    /**
+     * Метод создает задачу от имени текущего пользователя
+     *
+     * @param taskRequest --данные задачи
+     * @return созданная задача
+     */
+    Mono<Task> createTask(TaskRequest taskRequest);
+
+    /**
+     * Метод возвращает задачу с комментариями или ошибку TaskNotFoundException
+     *
+     * @param id --идентификатор задачи
+     * @return задача
+     */
+    Mono<Task> getTaskById(Long id);
+
+    /**
+     * Метод возвращает версию задачи без чтения самой задачи (для проверки If-None-Match)
+     *
+     * @param id --идентификатор задачи
+     * @return версия задачи или ошибка TaskNotFoundException
+     */
+    Mono<Long> getTaskVersion(Long id);
+
+    /**
+     * Метод возвращает страницу задач, которые пользователь создал или на которые назначен, по убыванию id
+     *
+     * @param email    --email пользователя
+     * @param pageable --номер и размер страницы
+     * @return страница задач с комментариями
+     */
+    Mono<Page<Task>> getAllTasksByUser(String email, Pageable pageable);
+
+    /**
+     * Метод меняет статус задачи, если текущий пользователь ее автор или исполнитель
+     *
+     * @param id              --идентификатор задачи
+     * @param status          --новый статус
+     * @param expectedVersion --версия из If-Match (null, если не передана)
+     * @return измененная задача
+     */
+    Mono<Task> changeStatus(Long id, Status status, Long expectedVersion);
+
+    /**
+     * Метод добавляет комментарий к задаче без чтения задачи и ее комментариев
+     *
+     * @param id                 --идентификатор задачи
+     * @param commentDescription --текст комментария
+     * @return добавленный комментарий
+     */
+    Mono<Comment> appendComment(Long id, String commentDescription);
+}
@@ -0,0 +1,344 @@
+package com.example.taskmanager.reactive.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.dao.Comment;
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskCounterId;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.dao.TaskRole;
+import com.example.taskmanager.exception.NotAuthorizedException;
+import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.TaskVersionMismatchException;
+import com.example.taskmanager.reactive.service.api.ReactiveTaskService;
+import com.example.taskmanager.reactive.utils.ReactiveUserUtils;
+import com.example.taskmanager.repository.TaskSql;
+import com.example.taskmanager.service.impl.PostgresTaskSearchIndex;
+import com.example.taskmanager.service.impl.TaskChangeWatermark;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация ReactiveTaskService на R2DBC.
+ * Запросы повторяют запросы основного приложения к той же схеме: идентификаторы берутся из task_seq и comment_seq,
+ * каждое изменение задачи увеличивает version и присваивает change_seq, счетчики task_counter обновляются
+ * в том же порядке и теми же запросами {@link TaskSql}, что и в TaskCounterRepository, события пишутся
+ * в outbox task_event в той же транзакции.
+ */
+@Service
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+    private final DatabaseClient databaseClient;
+    /**
+     * Таймаут пишущих транзакций. Таймаут {@link Transactional} в R2DBC ограничивает только ожидание блокировок,
+     * поэтому срок задается оператором timeout внутри транзакции: по его истечении транзакция откатывается,
+     * а commit после срока не начинается, как и в основном приложении (CommitDeadlineTransactionManager)
+     */
+    private final Duration writeTimeout;
+    /**
+     * Поисковые векторы есть только в PostgreSQL (миграция db/vendor/postgresql/V6), в H2 поиск выполняется подстрокой
+     */
+    private final boolean searchVectors;
+
+    public ReactiveTaskServiceImpl(DatabaseClient databaseClient,
+                                   @Value(TaskChangeWatermark.WRITE_TIMEOUT) int writeTimeoutSeconds) {
+        this.databaseClient = databaseClient;
+        this.writeTimeout = Duration.ofSeconds(writeTimeoutSeconds);
+        this.searchVectors = "PostgreSQL".equals(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public Mono<Task> createTask(TaskRequest taskRequest) {
+        return ReactiveUserUtils.getCurrentUserEmailOrError().flatMap(creator -> nextId("task_seq").flatMap(id -> {
+            Task task = new Task().setId(id).setCreator(creator).setAssignee(taskRequest.getAssignee())
+                    .setHeader(taskRequest.getHeader()).setDescription(taskRequest.getDescription())
+                    .setPriority(taskRequest.getPriority()).setStatus(taskRequest.getStatus())
+                    .setCreatedAt(LocalDateTime.now());
+            GenericExecuteSpec insert = databaseClient.sql(TaskSql.INSERT_TASK)
+                    .bind("id", id)
+                    .bind("creator", creator)
+                    .bind("createdAt", task.getCreatedAt());
+            insert = bind(insert, "header", task.getHeader(), String.class);
+            insert = bind(insert, "description", task.getDescription(), String.class);
+            insert = bind(insert, "status", ordinal(task.getStatus()), Integer.class);
+            insert = bind(insert, "priority", ordinal(task.getPriority()), Integer.class);
+            insert = bind(insert, "assignee", task.getAssignee(), String.class);
+            return insert.then()
+                    .then(indexTask(id))
+                    .then(addToCounters(counterDeltas(task.getCreator(), task.getAssignee(), task.getStatus(), 1)))
+                    .then(recordEvent(TaskEventType.CREATED, id))
+                    .thenReturn(task);
+        })).timeout(writeTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Task> getTaskById(Long id) {
+        return databaseClient.sql("SELECT " + TaskSql.TASK_COLUMNS + " FROM task t WHERE t.id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskServiceImpl::toTask)
+                .one()
+                .switchIfEmpty(Mono.error(TaskNotFoundException::new))
+                .flatMap(task -> fetchComments(List.of(task)))
+                .map(tasks -> tasks.get(0));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Long> getTaskVersion(Long id) {
+        return databaseClient.sql("SELECT version FROM task WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(TaskNotFoundException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Page<Task>> getAllTasksByUser(String email, Pageable pageable) {
+        Mono<List<Task>> content = databaseClient.sql(TaskSql.USER_TASKS_PAGE)
+                .bind("email", email)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .bind("branchLimit", pageable.getOffset() + pageable.getPageSize())
+                .map(ReactiveTaskServiceImpl::toTask)
+                .all()
+                .collectList()
+                .flatMap(this::fetchComments);
+        Mono<Long> total = databaseClient.sql(TaskSql.COUNT_USER_TASKS)
+                .bind("email", email)
+                .map(row -> row.get(0, Long.class))
+                .one();
+        // запросы одной транзакции выполняются на одном соединении, поэтому последовательно
+        return content.flatMap(tasks -> total.map(count -> new PageImpl<>(tasks, pageable, count)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public Mono<Task> changeStatus(Long id, Status status, Long expectedVersion) {
+        return getTaskById(id).flatMap(task -> ReactiveUserUtils.getCurrentUserEmailOrError().flatMap(userEmail -> {
+            if (!userEmail.equals(task.getCreator()) && !userEmail.equals(task.getAssignee())) {
+                return Mono.error(new NotAuthorizedException());
+            }
+            if (expectedVersion != null && expectedVersion != task.getVersion()) {
+                return Mono.error(new TaskVersionMismatchException());
+            }
+            if (task.getStatus() == status) {
+                return Mono.just(task);
+            }
+            Status before = task.getStatus();
+            return databaseClient.sql("UPDATE task SET status = :status, version = version + 1, change_seq = " + TaskSql.NEXT_CHANGE_SEQ +
+                            " WHERE id = :id AND version = :version")
+                    .bind("status", status.ordinal())
+                    .bind("id", id)
+                    .bind("version", task.getVersion())
+                    .fetch()
+                    .rowsUpdated()
+                    .flatMap(rows -> rows == 0
+                            ? Mono.<Task>error(new OptimisticLockingFailureException("Task " + id + " has been modified concurrently"))
+                            : addToCounters(counterDeltas(task.getCreator(), task.getAssignee(), before, -1),
+                            counterDeltas(task.getCreator(), task.getAssignee(), status, 1))
+                            .then(recordEvent(TaskEventType.STATUS_CHANGED, id))
+                            .then(Mono.fromSupplier(() -> task.setStatus(status).setVersion(task.getVersion() + 1))));
+        })).timeout(writeTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Автором комментария, как и в основном приложении, записывается автор задачи.
+     */
+    @Override
+    @Transactional
+    public Mono<Comment> appendComment(Long id, String commentDescription) {
+        return databaseClient.sql("SELECT creator FROM task WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Optional.ofNullable(row.get("creator", String.class)))
+                .one()
+                .switchIfEmpty(Mono.error(TaskNotFoundException::new))
+                .flatMap(creator -> databaseClient.sql("UPDATE task SET version = version + 1, change_seq = " + TaskSql.NEXT_CHANGE_SEQ + " WHERE id = :id")
+                        .bind("id", id)
+                        .then()
+                        .then(nextId("comment_seq"))
+                        .flatMap(commentId -> {
+                            Comment comment = new Comment().setId(commentId).setAuthor(creator.orElse(null))
+                                    .setDescription(commentDescription).setCreatedAt(LocalDateTime.now());
+                            GenericExecuteSpec insert = databaseClient.sql(TaskSql.INSERT_COMMENT)
+                                    .bind("id", commentId)
+                                    .bind("taskId", id)
+                                    .bind("createdAt", comment.getCreatedAt());
+                            insert = bind(insert, "author", comment.getAuthor(), String.class);
+                            insert = bind(insert, "description", comment.getDescription(), String.class);
+                            return insert.then()
+                                    .then(indexComment(commentId))
+                                    .then(recordEvent(TaskEventType.COMMENT_ADDED, id))
+                                    .thenReturn(comment);
+                        }))
+                .timeout(writeTimeout);
+    }
+
+    /**
+     * Метод берет идентификатор из последовательности, которой пользуется Hibernate в основном приложении.
+     * Hibernate выдает id из диапазона (значение - 49, значение], поэтому отдельное значение последовательности
+     * никогда не попадает в чужой диапазон, остальные 49 идентификаторов блока не используются
+     */
+    private Mono<Long> nextId(String sequence) {
+        return databaseClient.sql("SELECT nextval('" + sequence + "') AS id")
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    private Mono<List<Task>> fetchComments(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Mono.just(tasks);
+        }
+        Map<Long, Task> tasksById = tasks.stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        return databaseClient.sql("SELECT id, task_id, author, description, created_at FROM comment WHERE task_id IN (:ids) ORDER BY id")
+                .bind("ids", tasksById.keySet())
+                .map(row -> new Comment()
+                        .setId(row.get("id", Long.class))
+                        .setAuthor(row.get("author", String.class))
+                        .setDescription(row.get("description", String.class))
+                        .setCreatedAt(row.get("created_at", LocalDateTime.class))
+                        .setTask(tasksById.get(row.get("task_id", Long.class))))
+                .all()
+                .doOnNext(comment -> comment.getTask().getComments().add(comment))
+                .then(Mono.just(tasks));
+    }
+
+    private static Map<TaskCounterId, Long> counterDeltas(String creator, String assignee, Status status, long delta) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        if (status != null && creator != null) {
+            deltas.put(new TaskCounterId(creator, TaskRole.CREATOR, status), delta);
+        }
+        if (status != null && assignee != null) {
+            deltas.put(new TaskCounterId(assignee, TaskRole.ASSIGNEE, status), delta);
+        }
+        return deltas;
+    }
+
+    /**
+     * Применяет приращения счетчиков по одному запросу на ключ в порядке {@link TaskCounterId#LOCK_ORDER},
+     * как TaskCounterServiceImpl, чтобы транзакции обоих стеков блокировали строки счетчиков в одном порядке
+     */
+    @SafeVarargs
+    private Mono<Void> addToCounters(Map<TaskCounterId, Long>... changes) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        for (Map<TaskCounterId, Long> change : changes) {
+            change.forEach((id, delta) -> deltas.merge(id, delta, Long::sum));
+        }
+        return Flux.fromStream(deltas.entrySet().stream()
+                        .filter(entry -> entry.getValue() != 0)
+                        .sorted(Map.Entry.comparingByKey(TaskCounterId.LOCK_ORDER)))
+                .concatMap(entry -> addCounterDelta(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    /**
+     * То же, что TaskCounterRepository.addDelta: UPDATE, а если счетчика еще нет - создание без ошибки
+     * на уникальном ключе при одновременном первом обращении и повторный UPDATE
+     */
+    private Mono<Void> addCounterDelta(TaskCounterId id, long delta) {
+        Mono<Long> update = databaseClient.sql(TaskSql.UPDATE_COUNTER)
+                .bind("email", id.getEmail())
+                .bind("role", id.getRole().ordinal())
+                .bind("status", id.getStatus().ordinal())
+                .bind("delta", delta)
+                .fetch()
+                .rowsUpdated();
+        Mono<Long> insert = databaseClient.sql(TaskSql.INSERT_COUNTER_IF_ABSENT)
+                .bind("email", id.getEmail())
+                .bind("role", id.getRole().ordinal())
+                .bind("status", id.getStatus().ordinal())
+                .fetch()
+                .rowsUpdated();
+        return update.flatMap(rows -> rows == 0 ? insert.then(update) : Mono.just(rows)).then();
+    }
+
+    private Mono<Void> recordEvent(TaskEventType type, Long id) {
+        return ReactiveUserUtils.getCurrentUserEmail()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(actor -> bind(databaseClient.sql(TaskSql.INSERT_EVENTS), "actor", actor.orElse(null), String.class)
+                        .bind("taskIds", List.of(id))
+                        .bind("type", type.ordinal())
+                        .bind("createdAt", LocalDateTime.now())
+                        .then());
+    }
+
+    private Mono<Void> indexTask(Long id) {
+        if (!searchVectors) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("UPDATE task SET search_vector = " + PostgresTaskSearchIndex.TASK_VECTOR + " WHERE id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    private Mono<Void> indexComment(Long commentId) {
+        if (!searchVectors) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("UPDATE comment SET search_vector = " + PostgresTaskSearchIndex.COMMENT_VECTOR + " WHERE id = :id")
+                .bind("id", commentId)
+                .then();
+    }
+
+    private static Task toTask(Readable row) {
+        return new Task()
+                .setId(row.get("id", Long.class))
+                .setHeader(row.get("header", String.class))
+                .setDescription(row.get("description", String.class))
+                .setStatus(valueOf(Status.values(), row.get("status", Short.class)))
+                .setPriority(valueOf(Priority.values(), row.get("priority", Short.class)))
+                .setCreator(row.get("creator", String.class))
+                .setAssignee(row.get("assignee", String.class))
+                .setCreatedAt(row.get("created_at", LocalDateTime.class))
+                .setVersion(row.get("version", Long.class));
+    }
+
+    private static <E extends Enum<E>> E valueOf(E[] values, Short ordinal) {
+        return ordinal == null ? null : values[ordinal];
+    }
+
+    private static Integer ordinal(Enum<?> value) {
+        return value == null ? null : value.ordinal();
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager.reactive.utils;
+
+import com.example.taskmanager.exception.UserEmailException;
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+/**
+ * Аналог UserUtils для WebFlux: контекст безопасности хранится в контексте Reactor, а не в ThreadLocal
+ */
+@UtilityClass
+public class ReactiveUserUtils {
+
+    /**
+     * @return email авторизированного пользователя из claim email или пустой Mono
+     */
+    public static Mono<String> getCurrentUserEmail() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getPrincipal)
+                .filter(Jwt.class::isInstance)
+                .mapNotNull(principal -> ((Jwt) principal).getClaims().get("email"))
+                .filter(String.class::isInstance)
+                .map(String.class::cast);
+    }
+
+    /**
+     * @return email авторизированного пользователя или ошибка UserEmailException
+     */
+    public static Mono<String> getCurrentUserEmailOrError() {
+        return getCurrentUserEmail().switchIfEmpty(Mono.error(UserEmailException::new));
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.taskmanager.reactive.controller;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.dao.TaskRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Реактивный API на H2 через R2DBC: тот же контракт /api/tasks, что и у ApplicationController,
+ * включая счетчики задач и записи outbox в той же транзакции
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveTaskControllerTest {
+    private static final String CREATOR = "creator@example.com";
+    private static final String ASSIGNEE = "assignee@example.com";
+    private static final String TASK_REQUEST = "{\"header\": \"header\", \"description\": \"description\", " +
+            "\"assignee\": \"" + ASSIGNEE + "\", \"priority\": \"HIGH\", \"status\": \"PENDING\"}";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("comment", "task_event", "task_counter", "task")) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+    }
+
+    @Test
+    void given_TaskRequest_when_postRequestToCreateTask_then_taskCountersAndEventSaved() {
+        // when
+        TaskResponse response = createTask(CREATOR);
+        // then
+        assertNotNull(response.getId());
+        assertEquals(CREATOR, response.getCreator());
+        assertEquals(ASSIGNEE, response.getAssignee());
+        assertEquals(Status.PENDING, response.getStatus());
+        assertEquals(1L, counter(CREATOR, TaskRole.CREATOR, Status.PENDING));
+        assertEquals(1L, counter(ASSIGNEE, TaskRole.ASSIGNEE, Status.PENDING));
+        assertEquals(List.of(TaskEventType.CREATED), eventTypes(response.getId()));
+    }
+
+    @Test
+    void given_InvalidTaskRequest_when_postRequestToCreateTask_then_badRequest() {
+        // when then
+        client(CREATOR).post().uri("/api/tasks/create_task")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\": \"description\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.header").exists();
+    }
+
+    @Test
+    void given_ExistingTask_when_getRequestWithCurrentETag_then_notModified() {
+        // given
+        Long id = createTask(CREATOR).getId();
+        String eTag = client(CREATOR).get().uri("/api/tasks/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.header").isEqualTo("header")
+                .returnResult().getResponseHeaders().getETag();
+        // when then
+        client(CREATOR).get().uri("/api/tasks/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void given_MissingTask_when_getRequest_then_notFound() {
+        // when then
+        client(CREATOR).get().uri("/api/tasks/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").exists();
+    }
+
+    @Test
+    void given_TaskAndCurrentVersion_when_patchRequestToChangeStatus_then_statusCountersAndEventUpdated() {
+        // given
+        Long id = createTask(CREATOR).getId();
+        // when
+        client(ASSIGNEE).patch().uri("/api/tasks/{id}/change_status?status=COMPLETED", id)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.status").isEqualTo("COMPLETED");
+        // then
+        assertEquals(0L, counter(CREATOR, TaskRole.CREATOR, Status.PENDING));
+        assertEquals(1L, counter(CREATOR, TaskRole.CREATOR, Status.COMPLETED));
+        assertEquals(1L, counter(ASSIGNEE, TaskRole.ASSIGNEE, Status.COMPLETED));
+        assertEquals(List.of(TaskEventType.CREATED, TaskEventType.STATUS_CHANGED), eventTypes(id));
+    }
+
+    @Test
+    void given_StaleVersion_when_patchRequestToChangeStatus_then_preconditionFailed() {
+        // given
+        Long id = createTask(CREATOR).getId();
+        // when then
+        client(CREATOR).patch().uri("/api/tasks/{id}/change_status?status=COMPLETED", id)
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        assertEquals(1L, counter(CREATOR, TaskRole.CREATOR, Status.PENDING));
+    }
+
+    @Test
+    void given_OtherUser_when_patchRequestToChangeStatus_then_forbidden() {
+        // given
+        Long id = createTask(CREATOR).getId();
+        // when then
+        client("stranger@example.com").patch().uri("/api/tasks/{id}/change_status?status=COMPLETED", id)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void given_Task_when_postRequestToAppendComment_then_commentReturnedAndVersionIncremented() {
+        // given
+        Long id = createTask(CREATOR).getId();
+        // when
+        client(ASSIGNEE).post().uri("/api/tasks/{id}/append_comment", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\": \"comment\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.body").isEqualTo("comment")
+                .jsonPath("$.author").isEqualTo(CREATOR);
+        // then
+        client(CREATOR).get().uri("/api/tasks/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.comments[0].body").isEqualTo("comment");
+    }
+
+    @Test
+    void given_TasksOfUser_when_getRequestToAllTasks_then_pageInDescendingIdOrder() {
+        // given
+        Long first = createTask(CREATOR).getId();
+        Long second = createTask(CREATOR).getId();
+        createTask("other@example.com");
+        // when then
+        client(CREATOR).get().uri("/api/tasks/all_tasks?email={email}&page=0&size=1", CREATOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(second)
+                .jsonPath("$.totalElements").isEqualTo(2);
+        client(ASSIGNEE).get().uri("/api/tasks/all_tasks?email={email}&page=0&size=10", ASSIGNEE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.content[2].id").isEqualTo(first);
+    }
+
+    @Test
+    void given_InvalidPageSize_when_getRequestToAllTasks_then_badRequest() {
+        // when then
+        client(CREATOR).get().uri("/api/tasks/all_tasks?email={email}&page=0&size=0", CREATOR)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.size").isEqualTo("size must be positive");
+    }
+
+    @Test
+    void given_NoToken_when_getRequest_then_unauthorized() {
+        // when then
+        webTestClient.get().uri("/api/tasks/{id}", 1)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private TaskResponse createTask(String creator) {
+        return client(creator).post().uri("/api/tasks/create_task")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TASK_REQUEST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskResponse.class)
+                .returnResult().getResponseBody();
+    }
+
+    private WebTestClient client(String email) {
+        return webTestClient.mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("email", email)));
+    }
+
+    private Long counter(String email, TaskRole role, Status status) {
+        return databaseClient.sql("SELECT task_count FROM task_counter WHERE email = :email AND role = :role AND status = :status")
+                .bind("email", email)
+                .bind("role", role.ordinal())
+                .bind("status", status.ordinal())
+                .map(row -> row.get("task_count", Long.class))
+                .one()
+                .defaultIfEmpty(0L)
+                .block();
+    }
+
+    private List<TaskEventType> eventTypes(Long taskId) {
+        return databaseClient.sql("SELECT type FROM task_event WHERE task_id = :id ORDER BY id")
+                .bind("id", taskId)
+                .map(row -> TaskEventType.values()[row.get("type", Short.class)])
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.taskmanager.controller.dto;
+
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Построение PageResponse из страницы Spring Data разного размера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Page<TaskResponse> page;
+
+    @Setup
+    public void setUp() {
+        List<TaskResponse> content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(PageResponseBenchmark::createTaskResponse)
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> valueOf() {
+        return PageResponse.valueOf(page);
+    }
+
+    static TaskResponse createTaskResponse(long id) {
+        return new TaskResponse()
+                .setId(id)
+                .setCreator("bench@example.com")
+                .setHeader("header")
+                .setDescription("description")
+                .setAssignee("assignee@example.com")
+                .setPriority(Priority.HIGH)
+                .setStatus(Status.IN_PROGRESS)
+                .setCreatedAt(LocalDateTime.now())
+                .setVersion(0L)
+                .setComments(List.of());
+    }
+}
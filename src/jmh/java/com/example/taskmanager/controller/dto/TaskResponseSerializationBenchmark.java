@@ -0,0 +1,58 @@
+package com.example.taskmanager.controller.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Сериализация TaskResponse в JSON тем же образом, что и при ответе контроллера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseSerializationBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int commentCount;
+
+    private ObjectWriter writer;
+    private TaskResponse task;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(TaskResponse.class);
+        task = PageResponseBenchmark.createTaskResponse(1L)
+                .setComments(LongStream.range(0, commentCount)
+                        .mapToObj(i -> new TaskResponse.Comment()
+                                .setId(i)
+                                .setAuthor("bench@example.com")
+                                .setBody("comment " + i)
+                                .setCreatedAt(LocalDateTime.now()))
+                        .toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(task);
+    }
+}
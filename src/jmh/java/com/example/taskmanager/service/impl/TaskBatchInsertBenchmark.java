@@ -0,0 +1,140 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пакетное создание задач (TaskService#createTasks, за которым стоит POST /api/tasks/batch) в строках в секунду.
+ * jdbcBatchSize=1 воспроизводит запись до пакетной вставки: каждая строка уходит в базу отдельным insert,
+ * jdbcBatchSize=50 - текущую настройку hibernate.jdbc.batch_size. На PostgreSQL (встроенный, тот же
+ * reWriteBatchedInserts, что и в application.properties) пакет становится одним многострочным insert.
+ * Результаты последнего прогона: docs/performance/batch-insert.md
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TaskBatchInsertBenchmark {
+    private static final String BATCH_USER = "batch@example.com";
+    private static final int ROWS = 1_000;
+
+    @Param({"h2", "postgres"})
+    private String database;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private List<TaskRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] args = {};
+        if ("postgres".equals(database)) {
+            postgres = EmbeddedPostgres.start();
+            // аргументы командной строки, а не builder.properties: свойства профиля jmh задают H2
+            args = new String[]{
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                    "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "--spring.datasource.username=postgres",
+                    "--spring.jpa.database=postgresql",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"};
+        }
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("jmh")
+                .run(args);
+        taskService = context.getBean(TaskServiceImpl.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        batch = Collections.nCopies(ROWS, createTaskRequest());
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(BATCH_USER)
+                .claim("email", BATCH_USER)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreatedTasks() {
+        jdbcTemplate.update("delete from task where creator = ?", BATCH_USER);
+        jdbcTemplate.update("delete from task_event");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    /**
+     * Одна операция - одна строка: результат в строках в секунду
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Task> createTasks() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            return taskService.createTasks(batch);
+        });
+    }
+
+    private static TaskRequest createTaskRequest() {
+        return new TaskRequest()
+                .setHeader("header")
+                .setDescription("description")
+                .setAssignee("assignee@example.com")
+                .setPriority(Priority.MEDIUM)
+                .setStatus(Status.PENDING);
+    }
+}
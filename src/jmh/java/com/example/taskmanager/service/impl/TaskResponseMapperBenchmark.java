@@ -0,0 +1,76 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.dao.Comment;
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг задачи в TaskResponse в зависимости от количества комментариев.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseMapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int commentCount;
+
+    private TaskResponseMapper mapper;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        mapper = new TaskResponseMapper(new CommentResponseMapper());
+        task = createTask(1L, commentCount);
+    }
+
+    @Benchmark
+    public TaskResponse apply() {
+        return mapper.apply(task);
+    }
+
+    @Benchmark
+    public TaskResponse applyWithoutComments() {
+        return mapper.applyWithoutComments(task);
+    }
+
+    static Task createTask(Long id, int commentCount) {
+        Task task = new Task()
+                .setId(id)
+                .setCreatedAt(LocalDateTime.now())
+                .setCreator("bench@example.com")
+                .setAssignee("assignee@example.com")
+                .setDescription("description")
+                .setHeader("header")
+                .setPriority(Priority.HIGH)
+                .setStatus(Status.IN_PROGRESS);
+        for (int i = 0; i < commentCount; i++) {
+            task.getComments().add(new Comment()
+                    .setId((long) i)
+                    .setTask(task)
+                    .setAuthor("bench@example.com")
+                    .setDescription("comment " + i)
+                    .setCreatedAt(LocalDateTime.now()));
+        }
+        return task;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.configuration.CacheConfig;
+import com.example.taskmanager.controller.dto.PageResponse;
+import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.controller.dto.TaskFilter;
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskSortField;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Методы TaskServiceImpl на полном контексте приложения с H2 в памяти (профиль jmh).
+ * Время включает транзакцию, Hibernate и JDBC, поэтому сравнивать результаты имеет смысл только между сборками
+ * на одной и той же машине.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceImplBenchmark {
+    private static final String USER = "bench@example.com";
+    private static final String BATCH_USER = "batch@example.com";
+    private static final int TASK_COUNT = 1_000;
+    private static final int COMMENTS_PER_TASK = 5;
+    private static final int BATCH_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private TaskResponseMapper taskMapper;
+    private JdbcTemplate jdbcTemplate;
+    private Cache tasksCache;
+    private List<Long> ids;
+    private List<TaskRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("jmh")
+                .run();
+        taskService = context.getBean(TaskServiceImpl.class);
+        taskMapper = context.getBean(TaskResponseMapper.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        tasksCache = context.getBean(CacheManager.class).getCache(CacheConfig.TASKS_CACHE);
+
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        authenticate(USER);
+        ids = taskService.createTasks(Collections.nCopies(TASK_COUNT, createTaskRequest())).stream()
+                .map(Task::getId)
+                .toList();
+        for (Long id : ids) {
+            for (int i = 0; i < COMMENTS_PER_TASK; i++) {
+                taskService.appendComment(id, "comment " + i);
+            }
+        }
+        batch = Collections.nCopies(BATCH_SIZE, createTaskRequest());
+        authenticate(BATCH_USER);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreatedTasks() {
+        jdbcTemplate.update("delete from task where creator = ?", BATCH_USER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    /**
+     * Задача по id из кэша ответов
+     */
+    @Benchmark
+    public TaskResponse getTaskResponseByIdCached() {
+        return taskService.getTaskResponseById(ids.get(0));
+    }
+
+    /**
+     * Задача по id мимо кэша: выборка задачи с комментариями и маппинг
+     */
+    @Benchmark
+    public TaskResponse getTaskResponseByIdUncached() {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        tasksCache.evict(id);
+        return taskService.getTaskResponseById(id);
+    }
+
+    /**
+     * Страница задач так, как ее читает GET /api/tasks/all_tasks с параметрами по умолчанию: версии страницы,
+     * затем задачи с комментариями
+     */
+    @Benchmark
+    public PageResponse<TaskResponse> getTasksByUser() {
+        Pageable pageable = PageRequest.of(ThreadLocalRandom.current().nextInt(50), 20, TaskSortField.ID.toSort(Sort.Direction.DESC));
+        Page<TaskVersion> versions = taskService.getTaskVersionsByUser(USER, new TaskFilter(), pageable);
+        return PageResponse.valueOf(taskService.getTasks(versions).map(taskMapper));
+    }
+
+    @Benchmark
+    public Page<TaskSummaryResponse> getTaskSummariesByUser() {
+        return taskService.getTaskSummariesByUser(USER, PageRequest.of(ThreadLocalRandom.current().nextInt(50), 20));
+    }
+
+    /**
+     * Пакетное создание 50 задач: одна транзакция, id из пула последовательности и один пакет insert
+     */
+    @Benchmark
+    public List<Task> createTasks() {
+        return taskService.createTasks(batch);
+    }
+
+    private static void authenticate(String email) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(email)
+                .claim("email", email)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private static TaskRequest createTaskRequest() {
+        return new TaskRequest()
+                .setHeader("header")
+                .setDescription("description")
+                .setAssignee("assignee@example.com")
+                .setPriority(Priority.MEDIUM)
+                .setStatus(Status.PENDING);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskmanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Задержки запросов к одному endpoint, записанные одним потоком нагрузки.
+ * Каждый поток пишет в свой экземпляр без синхронизации, после теста экземпляры объединяются через {@link #merge}.
+ */
+public class EndpointStats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(EndpointStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i], true);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Метод возвращает перцентили задержки в миллисекундах (nearest-rank)
+     *
+     * @param percentiles --перцентили от 0 до 100
+     */
+    public double[] percentilesMillis(double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (count == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+            result[i] = sorted[Math.max(1, Math.min(count, rank)) - 1] / 1_000_000.0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Нагрузочный тест без внешних зависимостей: поднимает приложение на H2 в памяти и {@link MockJwtIssuer}
+ * вместо Keycloak, затем несколько потоков в течение заданного времени отправляют смешанный поток запросов
+ * (создание, чтение, список, комментарий) к ApplicationController. По каждому endpoint выводятся пропускная
+ * способность и перцентили задержки, отчет в CSV сохраняется в файл.
+ * <p>
+ * Параметры передаются аргументами вида key=value: concurrency, users, warmup, duration и timeout (ожидание ответа,
+ * секунды),
+ * profiles (дополнительные профили Spring, например virtual-threads), stack (servlet или reactive) и report (путь к CSV).
+ * Стек reactive запускает ReactiveTaskManagerApplication из модуля reactive, поэтому доступен только
+ * через gradle :reactive:loadTest, где этот модуль есть в classpath.
+ */
+public class LoadTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /**
+     * Исполнитель - следующий пользователь теста: с общим исполнителем все создания задач обновляли бы одну
+     * строку счетчика task_counter, и тест измерял бы ожидание ее блокировки, а не обработку запросов
+     */
+    private static final String TASK_REQUEST = "{\"header\": \"Load test task\", \"description\": \"Created by load test\", " +
+            "\"assignee\": \"%s\", \"priority\": \"MEDIUM\", \"status\": \"PENDING\"}";
+    private static final String COMMENT_REQUEST = "{\"description\": \"Load test comment\"}";
+    private static final String REACTIVE_APPLICATION = "com.example.taskmanager.reactive.ReactiveTaskManagerApplication";
+
+    /**
+     * Типы запросов и их доля в смешанной нагрузке (в процентах)
+     */
+    enum Endpoint {
+        CREATE(20), READ(40), LIST(25), COMMENT(15);
+
+        private final int share;
+
+        Endpoint(int share) {
+            this.share = share;
+        }
+
+        static Endpoint pick(int roll) {
+            int bound = 0;
+            for (Endpoint endpoint : values()) {
+                bound += endpoint.share;
+                if (roll < bound) {
+                    return endpoint;
+                }
+            }
+            return READ;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "50"));
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30")));
+        String profiles = options.getOrDefault("profiles", "");
+        String stack = options.getOrDefault("stack", "servlet");
+        Path report = Path.of(options.getOrDefault("report", "build/reports/loadtest/summary.csv"));
+
+        try (MockJwtIssuer issuer = new MockJwtIssuer()) {
+            List<String> activeProfiles = new ArrayList<>(List.of("loadtest"));
+            if (!profiles.isBlank()) {
+                activeProfiles.addAll(List.of(profiles.split(",")));
+            }
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(applicationClass(stack))
+                    .profiles(activeProfiles.toArray(String[]::new))
+                    .run("--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.getIssuerUri(),
+                            "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + issuer.getJwkSetUri());
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                List<String> tokens = new ArrayList<>();
+                for (int i = 0; i < users; i++) {
+                    tokens.add(issuer.issueToken(userEmail(i), Duration.ofDays(1)));
+                }
+                Map<Endpoint, EndpointStats> stats = run(URI.create("http://localhost:" + port), tokens, concurrency, warmup, duration,
+                        timeout);
+                writeReport(stats, duration, concurrency, stack, String.join(",", activeProfiles), report);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static Class<?> applicationClass(String stack) throws ClassNotFoundException {
+        return switch (stack) {
+            case "servlet" -> TaskManagerApplication.class;
+            case "reactive" -> Class.forName(REACTIVE_APPLICATION);
+            default -> throw new IllegalArgumentException("Unknown stack: " + stack + ", expected servlet or reactive");
+        };
+    }
+
+    private static Map<Endpoint, EndpointStats> run(URI baseUri, List<String> tokens, int concurrency,
+                                                    Duration warmup, Duration duration, Duration timeout) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<Endpoint, EndpointStats>>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int user = i % tokens.size();
+                String assignee = userEmail((user + 1) % tokens.size());
+                workers.add(executor.submit(() -> new Worker(client, baseUri, userEmail(user), tokens.get(user), assignee,
+                        timeout).run(measureFrom, measureUntil)));
+            }
+            Map<Endpoint, EndpointStats> total = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                total.put(endpoint, new EndpointStats());
+            }
+            for (Future<Map<Endpoint, EndpointStats>> worker : workers) {
+                worker.get().forEach((endpoint, stats) -> total.get(endpoint).merge(stats));
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Поток нагрузки одного пользователя: читает и комментирует только те задачи, которые сам создал
+     */
+    private static class Worker {
+        private final HttpClient client;
+        private final URI baseUri;
+        private final String email;
+        private final String authorization;
+        private final String taskRequest;
+        private final Duration timeout;
+        private final List<Long> ids = new ArrayList<>();
+        private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+        Worker(HttpClient client, URI baseUri, String email, String token, String assignee, Duration timeout) {
+            this.client = client;
+            this.baseUri = baseUri;
+            this.email = email;
+            this.authorization = "Bearer " + token;
+            this.taskRequest = String.format(TASK_REQUEST, assignee);
+            this.timeout = timeout;
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats());
+            }
+        }
+
+        Map<Endpoint, EndpointStats> run(long measureFrom, long measureUntil) throws InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                Endpoint endpoint = ids.isEmpty() ? Endpoint.CREATE : Endpoint.pick(random.nextInt(100));
+                HttpRequest request = request(endpoint, ids.isEmpty() ? 0 : ids.get(random.nextInt(ids.size())));
+                boolean success;
+                String body = null;
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    success = response.statusCode() / 100 == 2;
+                    body = response.body();
+                } catch (IOException e) {
+                    success = false;
+                }
+                long latency = System.nanoTime() - now;
+                if (success && endpoint == Endpoint.CREATE) {
+                    ids.add(readId(body));
+                }
+                if (now >= measureFrom) {
+                    stats.get(endpoint).record(latency, success);
+                }
+            }
+            return stats;
+        }
+
+        private HttpRequest request(Endpoint endpoint, long id) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .timeout(timeout);
+            return switch (endpoint) {
+                case CREATE -> builder.uri(baseUri.resolve("/api/tasks/create_task"))
+                        .POST(HttpRequest.BodyPublishers.ofString(taskRequest)).build();
+                case READ -> builder.uri(baseUri.resolve("/api/tasks/" + id)).GET().build();
+                case LIST -> builder.uri(baseUri.resolve("/api/tasks/all_tasks?email=" + email + "&page=0&size=20")).GET().build();
+                case COMMENT -> builder.uri(baseUri.resolve("/api/tasks/" + id + "/append_comment"))
+                        .POST(HttpRequest.BodyPublishers.ofString(COMMENT_REQUEST)).build();
+            };
+        }
+
+        private static long readId(String body) {
+            try {
+                return OBJECT_MAPPER.readTree(body).get("id").asLong();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected create_task response: " + body, e);
+            }
+        }
+    }
+
+    private static void writeReport(Map<Endpoint, EndpointStats> stats, Duration duration, int concurrency,
+                                    String stack, String profiles, Path report) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder csv = new StringBuilder("endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms\n");
+        PrintStream out = System.out;
+        out.printf("%nLoad test: stack=%s, concurrency=%d, duration=%ss, profiles=%s%n", stack, concurrency, duration.toSeconds(), profiles);
+        out.printf("%-8s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        EndpointStats all = new EndpointStats();
+        Map<String, EndpointStats> rows = new HashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            rows.put(endpoint.name(), stats.get(endpoint));
+            all.merge(stats.get(endpoint));
+        }
+        List<String> order = new ArrayList<>(stats.keySet().stream().map(Endpoint::name).toList());
+        order.add("TOTAL");
+        rows.put("TOTAL", all);
+        for (String name : order) {
+            EndpointStats row = rows.get(name);
+            double[] p = row.percentilesMillis(50, 90, 99, 100);
+            double rps = row.getCount() / seconds;
+            out.printf(Locale.ROOT, "%-8s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, row.getCount(), row.getErrors(), rps, p[0], p[1], p[2], p[3]);
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n", name, row.getCount(), row.getErrors(), rps, p[0], p[1], p[2], p[3]));
+        }
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.writeString(report, csv);
+        out.println("Report: " + report.toAbsolutePath());
+    }
+
+    private static String userEmail(int user) {
+        return "loadtest-user-" + user + "@example.com";
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value argument, got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
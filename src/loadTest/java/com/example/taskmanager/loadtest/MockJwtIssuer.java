@@ -0,0 +1,80 @@
+package com.example.taskmanager.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Замена Keycloak для нагрузочного теста: отдает JWK Set по HTTP и подписывает токены тем же ключом.
+ * Приложение проверяет токены так же, как с настоящим Keycloak (подпись, issuer, срок действия).
+ */
+public class MockJwtIssuer implements AutoCloseable {
+    private static final String JWKS_PATH = "/realms/loadtest/protocol/openid-connect/certs";
+
+    private final RSAKey key;
+    private final HttpServer server;
+
+    public MockJwtIssuer() throws IOException, JOSEException {
+        this.key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(JWKS_PATH, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        server.start();
+    }
+
+    public String getIssuerUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/realms/loadtest";
+    }
+
+    public String getJwkSetUri() {
+        return "http://localhost:" + server.getAddress().getPort() + JWKS_PATH;
+    }
+
+    /**
+     * Метод выпускает подписанный токен пользователя с claim email, как это делает Keycloak
+     *
+     * @param email    --email пользователя
+     * @param lifetime --срок действия токена
+     * @return токен в компактной форме
+     */
+    public String issueToken(String email, Duration lifetime) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(getIssuerUri())
+                .subject(UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8)).toString())
+                .claim("email", email)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(lifetime)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Конфигурация кэширования.
+ * Реализация кэша выбирается свойством spring.cache.type: по умолчанию локальный Caffeine,
+ * для распределенного кэша достаточно подключить соответствующий CacheManager (например, spring.cache.type=redis).
+ * Интерцептор кэша выполняется снаружи транзакции, поэтому вытеснение записи происходит после commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Кэш ответов {@link com.example.taskmanager.controller.dto.TaskResponse} по идентификатору задачи
+     */
+    public static final String TASKS_CACHE = "tasks";
+}
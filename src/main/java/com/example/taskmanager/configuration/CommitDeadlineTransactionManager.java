@@ -0,0 +1,27 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JpaTransactionManager, который проверяет таймаут транзакции еще и перед commit. Стандартный менеджер
+ * проверяет таймаут только перед выполнением запросов, поэтому работа после последнего запроса не ограничена.
+ * Здесь транзакция, у которой таймаут истек к началу commit, откатывается с {@link TransactionTimedOutException}.
+ * Ограничение не покрывает только сам commit.
+ */
+public class CommitDeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void prepareForCommit(DefaultTransactionStatus status) {
+        super.prepareForCommit(status);
+        if (status.isNewTransaction()
+                && TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()) instanceof EntityManagerHolder holder
+                && holder.hasTimeout()) {
+            // бросает TransactionTimedOutException, если срок истек; исключение перед commit приводит к откату
+            holder.getTimeToLiveInMillis();
+        }
+    }
+}
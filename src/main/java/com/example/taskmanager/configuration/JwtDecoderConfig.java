@@ -0,0 +1,81 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.security.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка JWT ресурс-сервером (spring.security.oauth2.resourceserver.jwt.*) с кэшированием:
+ * <ul>
+ *     <li>JWK Set хранится локально app.jwt.jwk-set-ttl и перезагружается в фоне за app.jwt.jwk-set-refresh-ahead
+ *     до истечения, поэтому запросы не ждут загрузки ключей (кроме самого первого);</li>
+ *     <li>проверенные токены кэшируются {@link CachingJwtDecoder} до истечения их срока действия.</li>
+ * </ul>
+ * Проверки подписи, issuer, срока действия и audience те же, что у декодера Spring Boot по умолчанию.
+ */
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtDecoderConfig {
+
+    /**
+     * JWK Set закрывается вместе с контекстом, чтобы остановить поток фоновой перезагрузки
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(OAuth2ResourceServerProperties resourceServer, JwtProperties properties)
+            throws MalformedURLException {
+        return JWKSourceBuilder.<SecurityContext>create(new URL(resourceServer.getJwt().getJwkSetUri()))
+                .cache(properties.jwkSetTtl().toMillis(), properties.jwkSetTimeout().toMillis())
+                .refreshAheadCache(properties.jwkSetRefreshAhead().toMillis(), true)
+                .build();
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, OAuth2ResourceServerProperties resourceServer,
+                                 JwtProperties properties, MeterRegistry meterRegistry) {
+        OAuth2ResourceServerProperties.Jwt jwt = resourceServer.getJwt();
+        Set<JWSAlgorithm> algorithms = jwt.getJwsAlgorithms().stream().map(JWSAlgorithm::parse).collect(Collectors.toSet());
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwt.getJwkSetUri())
+                .jwtProcessorCustomizer(processor ->
+                        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, jwkSource)))
+                .build();
+        decoder.setJwtValidator(validator(jwt));
+        return new CachingJwtDecoder(decoder, properties.cacheSize(), properties.cacheTtl(), meterRegistry);
+    }
+
+    private static OAuth2TokenValidator<Jwt> validator(OAuth2ResourceServerProperties.Jwt jwt) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(jwt.getIssuerUri() != null
+                ? JwtValidators.createDefaultWithIssuer(jwt.getIssuerUri())
+                : JwtValidators.createDefault());
+        List<String> audiences = jwt.getAudiences();
+        if (!audiences.isEmpty()) {
+            validators.add(new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                    aud -> aud != null && !Collections.disjoint(aud, audiences)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
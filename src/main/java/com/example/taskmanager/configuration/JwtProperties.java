@@ -0,0 +1,24 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки проверки JWT (app.jwt.*)
+ *
+ * @param cacheSize          --сколько проверенных токенов хранится в кэше
+ * @param cacheTtl           --максимальное время хранения проверенного токена (не дольше его срока действия)
+ * @param jwkSetTtl          --время жизни загруженного JWK Set
+ * @param jwkSetRefreshAhead --за сколько до истечения JWK Set перезагружается в фоне
+ * @param jwkSetTimeout      --сколько запрос ждет загрузки JWK Set, если в кэше его нет
+ */
+@ConfigurationProperties(prefix = "app.jwt")
+public record JwtProperties(
+        @DefaultValue("10000") long cacheSize,
+        @DefaultValue("10m") Duration cacheTtl,
+        @DefaultValue("5m") Duration jwkSetTtl,
+        @DefaultValue("30s") Duration jwkSetRefreshAhead,
+        @DefaultValue("15s") Duration jwkSetTimeout) {
+}
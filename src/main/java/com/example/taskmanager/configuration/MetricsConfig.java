@@ -0,0 +1,49 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.metrics.RepositoryRowsAspect;
+import com.example.taskmanager.metrics.SqlStatementCounter;
+import com.example.taskmanager.metrics.SqlStatementMetricsFilter;
+import com.example.taskmanager.security.CachingJwtDecoder;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация метрик приложения (экспортируются через /actuator/metrics и /actuator/prometheus).
+ * <ul>
+ *     <li>task.service - время и количество вызовов методов TaskServiceImpl (аннотация @Timed);</li>
+ *     <li>spring.data.repository.invocations - время методов репозиториев (Spring Boot) и
+ *     {@value RepositoryRowsAspect#METRIC_NAME} - количество возвращенных ими строк;</li>
+ *     <li>hibernate.* - статистика Hibernate (запросы, загрузки сущностей, загрузки коллекций);</li>
+ *     <li>{@value SqlStatementMetricsFilter#METRIC_NAME} - количество SQL запросов на один HTTP запрос;</li>
+ *     <li>{@value CachingJwtDecoder#VERIFICATION_METRIC} и cache.gets с тегом cache={@value CachingJwtDecoder#CACHE_NAME} -
+ *     время проверки JWT и попадания в кэш проверенных токенов ({@link JwtDecoderConfig}).</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public RepositoryRowsAspect repositoryRowsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryRowsAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.service.api.TaskEventSink;
+import com.example.taskmanager.service.impl.CompositeTaskEventSink;
+import com.example.taskmanager.service.impl.FileTaskEventSink;
+import com.example.taskmanager.service.impl.InProcessTaskEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+
+/**
+ * Выбор получателя событий outbox свойством app.outbox.sink.
+ * Для брокера сообщений достаточно объявить собственный бин {@link TaskEventSink}.
+ * Если настроен поток изменений задач (бин taskStreamSink, см. {@link TaskStreamConfig}), пакет передается
+ * и ему, независимо от выбранного получателя.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @Primary
+    public TaskEventSink taskEventSink(OutboxProperties properties, ApplicationEventPublisher eventPublisher,
+                                       ObjectProvider<ObjectMapper> objectMapper,
+                                       @Qualifier("taskStreamSink") ObjectProvider<TaskEventSink> taskStreamSink) {
+        TaskEventSink sink = switch (properties.sink()) {
+            case IN_PROCESS -> new InProcessTaskEventSink(eventPublisher);
+            case FILE -> new FileTaskEventSink(properties.file(), objectMapper.getObject());
+        };
+        TaskEventSink stream = taskStreamSink.getIfAvailable();
+        return stream == null ? sink : new CompositeTaskEventSink(List.of(sink, stream));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Настройки публикации событий outbox (app.outbox.*)
+ *
+ * @param sink      --получатель событий
+ * @param file      --файл NDJSON для получателя FILE
+ * @param batchSize --максимальное количество событий, публикуемых за один проход
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+public record OutboxProperties(
+        @DefaultValue("IN_PROCESS") Sink sink,
+        @DefaultValue("task-events.ndjson") Path file,
+        @DefaultValue("500") int batchSize) {
+
+    public enum Sink {
+        /**
+         * События публикуются как события приложения Spring (локальная замена брокера сообщений)
+         */
+        IN_PROCESS,
+        /**
+         * События дописываются в файл NDJSON
+         */
+        FILE
+    }
+}
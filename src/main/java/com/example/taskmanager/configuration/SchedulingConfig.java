@@ -0,0 +1,35 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.service.api.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Периодические задачи приложения. Публикация outbox, выборки номера изменений для ленты изменений и обслуживание
+ * потока изменений нужны для корректной работы и выполняются всегда. Необязательное обслуживание (пересчет счетчиков
+ * задач) отключается свойством app.scheduling.enabled=false.
+ * Каждой задаче нужен свой поток планировщика (spring.task.scheduling.pool.size), иначе долгая задача
+ * задерживает запуск остальных.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Configuration
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "app.scheduling.enabled", matchIfMissing = true)
+    static class MaintenanceJobs {
+        private final TaskCounterService taskCounterService;
+
+        /**
+         * Пересчет счетчиков задач по расписанию app.task-counters.reconcile-cron (по умолчанию ежедневно в 03:00)
+         */
+        @Scheduled(cron = "${app.task-counters.reconcile-cron:0 0 3 * * *}")
+        public void reconcileTaskCounters() {
+            taskCounterService.reconcile();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.service.api.TaskSearchIndex;
+import com.example.taskmanager.service.impl.LikeTaskSearchIndex;
+import com.example.taskmanager.service.impl.PostgresTaskSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Выбор реализации полнотекстового поиска по базе данных.
+ * База определяется так же, как для {vendor} в spring.flyway.locations, поэтому реализация
+ * всегда соответствует примененной миграции из db/vendor/{vendor}.
+ */
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public TaskSearchIndex taskSearchIndex(DataSource dataSource, EntityManager entityManager) throws MetaDataAccessException {
+        String url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+        if (DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL) {
+            return new PostgresTaskSearchIndex(entityManager);
+        }
+        return new LikeTaskSearchIndex(entityManager);
+    }
+}
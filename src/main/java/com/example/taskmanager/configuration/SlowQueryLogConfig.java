@@ -0,0 +1,30 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.metrics.SlowQueryDataSourcePostProcessor;
+import com.example.taskmanager.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Журнал медленных SQL запросов вместо вывода каждого запроса (spring.jpa.show-sql и логгер org.hibernate.SQL
+ * включаются только в профиле dev). Отключается свойством app.slow-query-log.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query-log.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SlowQueryLogProperties.class)
+public class SlowQueryLogConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryLogProperties properties, MeterRegistry meterRegistry) {
+        return new SlowQueryLog(properties.threshold(), properties.sampleRate(), properties.queueCapacity(), meterRegistry);
+    }
+
+    @Bean
+    public static SlowQueryDataSourcePostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new SlowQueryDataSourcePostProcessor(slowQueryLog);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки журнала медленных SQL запросов (app.slow-query-log.*)
+ *
+ * @param enabled       --включен ли журнал
+ * @param threshold     --запросы не быстрее этого порога считаются медленными
+ * @param sampleRate    --доля медленных запросов, которые попадают в лог (от 0 до 1)
+ * @param queueCapacity --размер очереди записей, ожидающих вывода в лог
+ */
+@ConfigurationProperties(prefix = "app.slow-query-log")
+public record SlowQueryLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200ms") Duration threshold,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("1000") int queueCapacity) {
+}
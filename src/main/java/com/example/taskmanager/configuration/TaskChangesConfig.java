@@ -0,0 +1,48 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.impl.TaskChangeWatermark;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Граница ленты изменений задач: изменение отдается клиентам только после того, как завершились все
+ * транзакции, получившие меньшие номера изменений
+ */
+@Configuration
+@EnableConfigurationProperties(TaskChangesProperties.class)
+public class TaskChangesConfig {
+    /**
+     * Запас lag сверх таймаута записи: его должно хватать на сам commit, который таймаут не ограничивает
+     */
+    static final Duration COMMIT_MARGIN = Duration.ofSeconds(1);
+
+    @Bean
+    public TaskChangeWatermark taskChangeWatermark(TaskRepository taskRepository, TaskChangesProperties properties) {
+        // пока идет транзакция записи, ее номер изменения не должен оказаться ниже границы
+        if (properties.lag().compareTo(Duration.ofSeconds(properties.writeTimeoutSeconds()).plus(COMMIT_MARGIN)) < 0) {
+            throw new IllegalStateException("app.task-changes.lag must exceed app.task-changes.write-timeout-seconds by at least "
+                    + COMMIT_MARGIN.toSeconds() + "s");
+        }
+        return new TaskChangeWatermark(taskRepository, properties.lag(), Clock.systemUTC());
+    }
+
+    /**
+     * Менеджер транзакций, который не дает пишущей транзакции начать commit после истечения таймаута
+     * (вместо JpaTransactionManager из автоконфигурации Spring Boot)
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        CommitDeadlineTransactionManager transactionManager = new CommitDeadlineTransactionManager();
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки ленты изменений задач GET /api/tasks/changes (app.task-changes.*)
+ *
+ * @param writeTimeoutSeconds --таймаут транзакций, которые присваивают задачам номера изменений
+ * @param lag                 --через сколько изменение попадает в ленту, должно быть больше writeTimeoutSeconds хотя бы на 1 с
+ */
+@ConfigurationProperties(prefix = "app.task-changes")
+public record TaskChangesProperties(
+        @DefaultValue("10") int writeTimeoutSeconds,
+        @DefaultValue("15s") Duration lag) {
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanager.configuration;
+
+import com.example.taskmanager.service.api.TaskEventSink;
+import com.example.taskmanager.service.impl.AfterCommitTaskEventSink;
+import com.example.taskmanager.service.impl.PostgresTaskEventChannel;
+import com.example.taskmanager.service.impl.TaskEventBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Поток изменений задач для веб-интерфейса вместо периодического опроса задач.
+ * События outbox передаются в поток независимо от настроенного получателя (app.outbox.sink, см. {@link OutboxConfig}):
+ * на PostgreSQL через LISTEN/NOTIFY подписчикам всех экземпляров приложения, на остальных базах только
+ * подписчикам экземпляра, опубликовавшего пакет.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskStreamProperties.class)
+public class TaskStreamConfig {
+
+    @Bean
+    public TaskEventBroadcaster taskEventBroadcaster(TaskStreamProperties properties, MeterRegistry meterRegistry) {
+        return new TaskEventBroadcaster(properties.bufferSize(), properties.timeout(), properties.senders(),
+                properties.sendTimeout(), meterRegistry);
+    }
+
+    @Bean
+    public TaskEventSink taskStreamSink(DataSource dataSource, ObjectMapper objectMapper, TaskEventBroadcaster broadcaster)
+            throws MetaDataAccessException {
+        String url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+        if (DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL) {
+            return new PostgresTaskEventChannel(dataSource, objectMapper, broadcaster);
+        }
+        return new AfterCommitTaskEventSink(broadcaster);
+    }
+}
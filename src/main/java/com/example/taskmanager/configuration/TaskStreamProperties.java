@@ -0,0 +1,22 @@
+package com.example.taskmanager.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки потока изменений задач GET /api/tasks/stream (app.task-stream.*)
+ *
+ * @param bufferSize  --сколько событий ожидает отправки медленному подписчику, более старые события отбрасываются
+ * @param timeout     --время жизни соединения, после которого клиент переподключается
+ * @param senders     --сколько потоков платформы отправляют события, если виртуальные потоки недоступны (Java 17)
+ * @param sendTimeout --сколько может быть заблокирована отправка подписчику, после чего он отключается
+ */
+@ConfigurationProperties(prefix = "app.task-stream")
+public record TaskStreamProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("16") int senders,
+        @DefaultValue("30s") Duration sendTimeout) {
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanager.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Режим выполнения запросов на виртуальных потоках (профиль virtual-threads).
+ * Сам режим включает Spring Boot по свойству spring.threads.virtual.enabled: виртуальные потоки получают
+ * потоки Tomcat, applicationTaskExecutor (асинхронные ответы MVC, например выгрузка задач) и планировщик.
+ * Свойство работает только на Java 21+, на более старой JVM оно молча игнорируется, поэтому здесь об этом
+ * выводится предупреждение.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfUnsupported() {
+        if (JavaVersion.getJavaVersion().isOlderThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("spring.threads.virtual.enabled=true is ignored on Java {}: build and run with -PjavaVersion=21",
+                    JavaVersion.getJavaVersion());
+        }
+    }
+}
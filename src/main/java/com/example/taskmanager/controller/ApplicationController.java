@@ -1,13 +1,38 @@
 package com.example.taskmanager.controller;
 
 
+import com.example.taskmanager.controller.dto.BatchTaskRequest;
+import com.example.taskmanager.controller.dto.BulkAssigneeRequest;
+import com.example.taskmanager.controller.dto.BulkDeleteRequest;
+import com.example.taskmanager.controller.dto.BulkStatusRequest;
+import com.example.taskmanager.controller.dto.BulkTaskResult;
 import com.example.taskmanager.controller.dto.CommentRequest;
+import com.example.taskmanager.controller.dto.ExportFormat;
 import com.example.taskmanager.controller.dto.PageResponse;
+import com.example.taskmanager.controller.dto.SliceResponse;
+import com.example.taskmanager.controller.dto.TaskChangesResponse;
+import com.example.taskmanager.controller.dto.TaskFilter;
 import com.example.taskmanager.controller.dto.TaskRequest;
 import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskSortField;
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
+import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Status;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskVersion;
+import com.example.taskmanager.exception.UserEmailException;
+import com.example.taskmanager.service.api.TaskChanges;
+import com.example.taskmanager.service.api.TaskExportWriter;
+import com.example.taskmanager.service.api.TaskSearchResult;
+import com.example.taskmanager.service.impl.CsvTaskExportWriter;
+import com.example.taskmanager.service.impl.NdjsonTaskExportWriter;
+import com.example.taskmanager.service.impl.TaskEventBroadcaster;
 import com.example.taskmanager.service.impl.TaskServiceImpl;
+import com.example.taskmanager.utils.CursorUtils;
+import com.example.taskmanager.utils.ETagUtils;
+import com.example.taskmanager.utils.UserUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,15 +42,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -42,6 +81,9 @@ public class ApplicationController {
 
     private final TaskServiceImpl taskService;
     private final Function<Task, TaskResponse> taskMapper;
+    private final Function<Comment, TaskResponse.Comment> commentMapper;
+    private final ObjectMapper objectMapper;
+    private final TaskEventBroadcaster taskEventBroadcaster;
 
     /**
      * Метод обрабатывает post запрос для создания новой задачи.
@@ -59,70 +101,298 @@ public class ApplicationController {
         return taskMapper.apply(taskService.createTask(task));
     }
 
+    /**
+     * Метод обрабатывает post запрос для создания пакета задач (например, при импорте из другого трекера).
+     *
+     * @param batch --экземпляр BatchTaskRequest со списком задач для создания
+     * @return список {@link TaskResponse} с информацией о созданных задачах в порядке запроса
+     */
+    @Operation(summary = "Создать пакет задач", description = "Создает до 1000 задач одной транзакцией и возвращает их данные")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи успешно созданы"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+    })
+    @PostMapping("/batch")
+    public List<TaskResponse> createTasks(@Valid @RequestBody BatchTaskRequest batch) {
+        return taskService.createTasks(batch.getTasks()).stream().map(taskMapper).toList();
+    }
+
     /**
      * Метод обрабатывает get запрос для получения всей информации о задаче по ее id.
+     * Если клиент передал If-None-Match с актуальной версией задачи, возвращается 304 без загрузки задачи.
      *
-     * @param id --идентификатор задачи
-     * @return {@link TaskResponse} с информацией о задаче
+     * @param id          --идентификатор задачи
+     * @param ifNoneMatch --ETag задачи, сохраненный клиентом
+     * @param request     --текущий запрос
+     * @return {@link TaskResponse} с информацией о задаче и ETag ее версии
      */
     @Operation(summary = "Получить задачу по ID", description = "Возвращает данные задачи по её идентификатору")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача найдена", content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Задача не изменилась"),
             @ApiResponse(responseCode = "404", description = "Задача не найдена")
     })
     @GetMapping("/{id}")
-    public TaskResponse getTaskById(
+    public ResponseEntity<TaskResponse> getTaskById(
             @Parameter(description = "Идентификатор задачи", required = true)
-            @PathVariable @Min(value = 1, message = "id must be positive") Long id) {
-        return taskMapper.apply(taskService.getTaskById(id));
+            @PathVariable @Min(value = 1, message = "id must be positive") Long id,
+            @Parameter(description = "ETag задачи из предыдущего ответа")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest request) {
+        if (ifNoneMatch != null && request.checkNotModified(ETagUtils.of(taskService.getTaskVersion(id)))) {
+            return null;
+        }
+        TaskResponse response = taskService.getTaskResponseById(id);
+        return ResponseEntity.ok().eTag(ETagUtils.of(response.getVersion())).body(response);
     }
 
     /**
      * Метод обрабатывает get запрос для получения списка всех задач пользователя.
+     * Фильтрация и сортировка выполняются базой данных, сортировать можно только по полям из {@link TaskSortField}.
+     * ETag страницы сначала проверяется по идентификаторам и версиям задач, сами задачи загружаются, только если он изменился.
+     *
+     * @param email     --email пользователя, для которого нужно получить список задач
+     * @param page      --номер страницы для пагинации
+     * @param size      --количество задач на странице
+     * @param filter    --фильтр по роли пользователя, статусу, приоритету и дате создания
+     * @param sort      --поле сортировки
+     * @param direction --направление сортировки
+     * @param request   --текущий запрос
+     * @return {@link PageResponse} с информацией о задачах и ETag страницы
+     */
+    @Operation(summary = "Получить задачи пользователя", description = "Возвращает список задач пользователя с поддержкой пагинации, фильтрации и сортировки")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Список задач успешно получен", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Страница не изменилась"),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
+    })
+    @GetMapping("/all_tasks")
+    public ResponseEntity<PageResponse<TaskResponse>> getTasks(
+            @Parameter(description = "Email пользователя", required = true)
+            @RequestParam @Email(message = "email must be in correct form") String email,
+            @Parameter(description = "Номер страницы для пагинации", required = true)
+            @RequestParam @Min(value = 0, message = "page must be minimum 0") int page,
+            @Parameter(description = "Количество задач на странице", required = true)
+            @RequestParam @Min(value = 1, message = "size must be positive") int size,
+            @ParameterObject TaskFilter filter,
+            @Parameter(description = "Поле сортировки")
+            @RequestParam(defaultValue = "ID") TaskSortField sort,
+            @Parameter(description = "Направление сортировки")
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            WebRequest request) {
+        Pageable pageable = PageRequest.of(page, size, sort.toSort(direction));
+        Page<TaskVersion> versions = taskService.getTaskVersionsByUser(email, filter, pageable);
+        if (request.checkNotModified(ETagUtils.of(versions))) {
+            return null;
+        }
+        Page<Task> tasks = taskService.getTasks(versions);
+        return ResponseEntity.ok().eTag(ETagUtils.of(tasks.map(TaskVersion::of))).body(PageResponse.valueOf(tasks.map(taskMapper)));
+    }
+
+    /**
+     * Метод обрабатывает get запрос для получения задач пользователя с курсорной (keyset) пагинацией.
+     * Стоимость получения любого среза не зависит от его глубины, общее количество задач не подсчитывается.
+     *
+     * @param email --email пользователя, для которого нужно получить список задач
+     * @param after --курсор из предыдущего ответа, для первого среза не передается
+     * @param size  --количество задач в срезе
+     * @return {@link SliceResponse} с информацией о задачах и курсором следующего среза
+     */
+    @Operation(summary = "Получить задачи пользователя (курсорная пагинация)", description = "Возвращает срез задач пользователя после переданного курсора без подсчета общего количества")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Срез задач успешно получен", content = @Content(schema = @Schema(implementation = SliceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
+    })
+    @GetMapping("/all_tasks/cursor")
+    public SliceResponse<TaskResponse> getTasksAfter(
+            @Parameter(description = "Email пользователя", required = true)
+            @RequestParam @Email(message = "email must be in correct form") String email,
+            @Parameter(description = "Курсор из предыдущего ответа")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Количество задач в срезе", required = true)
+            @RequestParam @Min(value = 1, message = "size must be positive") int size) {
+        Slice<Task> slice = taskService.getAllTasksByUserAfter(email, CursorUtils.decode(after), size);
+        String nextCursor = slice.hasNext()
+                ? CursorUtils.encode(slice.getContent().get(slice.getNumberOfElements() - 1).getId())
+                : null;
+        return SliceResponse.valueOf(slice.map(taskMapper), nextCursor);
+    }
+
+    /**
+     * Метод обрабатывает get запрос для получения краткой информации о задачах пользователя.
+     * Описание и комментарии задач не загружаются и не передаются.
      *
      * @param email --email пользователя, для которого нужно получить список задач
      * @param page  --номер страницы для пагинации
      * @param size  --количество задач на странице
-     * @return {@link PageResponse} с информацией о задачах
+     * @return {@link PageResponse} с краткой информацией о задачах
      */
-    @Operation(summary = "Получить задачи пользователя", description = "Возвращает список задач пользователя с поддержкой пагинации")
+    @Operation(summary = "Получить краткий список задач пользователя", description = "Возвращает id, заголовок, статус, приоритет, исполнителя и дату создания задач пользователя")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список задач успешно получен", content = @Content(schema = @Schema(implementation = PageResponse.class))),
             @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
     })
-    @GetMapping("/all_tasks")
-    public PageResponse<TaskResponse> getTasks(
+    @GetMapping("/all_tasks/summary")
+    public PageResponse<TaskSummaryResponse> getTaskSummaries(
             @Parameter(description = "Email пользователя", required = true)
             @RequestParam @Email(message = "email must be in correct form") String email,
             @Parameter(description = "Номер страницы для пагинации", required = true)
             @RequestParam @Min(value = 0, message = "page must be minimum 0") int page,
             @Parameter(description = "Количество задач на странице", required = true)
             @RequestParam @Min(value = 1, message = "size must be positive") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<TaskResponse> map = taskService.getAllTasksByUser(email, pageable)
-                .map(taskMapper);
-        return PageResponse.valueOf(map);
+        return PageResponse.valueOf(taskService.getTaskSummariesByUser(email, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Метод обрабатывает get запрос для получения количества задач текущего пользователя по статусам.
+     *
+     * @return {@link TaskStatsResponse} с количеством созданных и назначенных задач по статусам
+     */
+    @Operation(summary = "Получить статистику задач", description = "Возвращает количество задач, созданных пользователем и назначенных на него, по статусам")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статистика успешно получена", content = @Content(schema = @Schema(implementation = TaskStatsResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Пользователь не авторизован")
+    })
+    @GetMapping("/stats")
+    public TaskStatsResponse getTaskStats() {
+        return taskService.getTaskStats();
+    }
+
+    /**
+     * Метод обрабатывает get запрос для синхронизации задач текущего пользователя: возвращает задачи, созданные
+     * или измененные после номера изменения since, и идентификаторы задач, пропавших из его списка.
+     * Клиент повторяет запрос с since = cursor, пока hasMore = true.
+     *
+     * @param since --номер изменения из предыдущего ответа, для первой синхронизации 0
+     * @param size  --максимальное количество изменений в ответе
+     * @return {@link TaskChangesResponse} с изменениями и номером изменения для следующего запроса
+     */
+    @Operation(summary = "Изменения задач", description = "Задачи текущего пользователя, созданные, измененные или удаленные после номера изменения since")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Изменения успешно получены", content = @Content(schema = @Schema(implementation = TaskChangesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса"),
+            @ApiResponse(responseCode = "401", description = "Пользователь не авторизован")
+    })
+    @GetMapping("/changes")
+    public TaskChangesResponse getTaskChanges(
+            @Parameter(description = "Номер изменения из предыдущего ответа")
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "since must be minimum 0") long since,
+            @Parameter(description = "Максимальное количество изменений в ответе")
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "size must be positive")
+            @Max(value = 1000, message = "size must be at most 1000") int size) {
+        TaskChanges changes = taskService.getTaskChanges(since, size);
+        return new TaskChangesResponse()
+                .setChanged(changes.changed().stream().map(taskMapper).toList())
+                .setRemoved(changes.removed())
+                .setCursor(changes.cursor())
+                .setHasMore(changes.hasMore());
+    }
+
+    /**
+     * Метод открывает поток Server-Sent Events с изменениями задач, которые текущий пользователь создал
+     * или на которые назначен. Событие task содержит только идентификатор задачи и тип изменения, при событии
+     * overflow клиент пропустил часть изменений и должен перечитать свои задачи.
+     *
+     * @return поток событий
+     */
+    @Operation(summary = "Поток изменений задач", description = "Server-Sent Events с изменениями задач текущего пользователя вместо периодического опроса")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток открыт")
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges() {
+        return taskEventBroadcaster.subscribe(UserUtils.getCurrentUserEmail().orElseThrow(UserEmailException::new));
+    }
+
+    /**
+     * Метод обрабатывает get запрос для полнотекстового поиска по задачам текущего пользователя.
+     * Ищет по заголовку, описанию и комментариям; результаты упорядочены по релевантности.
+     *
+     * @param q     --поисковый запрос
+     * @param after --курсор из предыдущего ответа, для первого среза не передается
+     * @param size  --количество задач в срезе
+     * @return {@link SliceResponse} с найденными задачами и курсором следующего среза
+     */
+    @Operation(summary = "Поиск задач", description = "Полнотекстовый поиск по заголовкам, описаниям и комментариям задач текущего пользователя с курсорной пагинацией")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Срез найденных задач успешно получен", content = @Content(schema = @Schema(implementation = SliceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
+    })
+    @GetMapping("/search")
+    public SliceResponse<TaskResponse> searchTasks(
+            @Parameter(description = "Поисковый запрос", required = true)
+            @RequestParam @NotBlank(message = "q can't be blank") @Size(max = 200, message = "q must be at most 200 characters") String q,
+            @Parameter(description = "Курсор из предыдущего ответа")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Количество задач в срезе", required = true)
+            @RequestParam @Min(value = 1, message = "size must be positive") int size) {
+        Slice<TaskSearchResult> slice = taskService.searchTasks(q, CursorUtils.decodeRanked(after), size);
+        String nextCursor = slice.hasNext()
+                ? CursorUtils.encodeRanked(slice.getContent().get(slice.getNumberOfElements() - 1).toCursor())
+                : null;
+        return SliceResponse.valueOf(slice.map(result -> taskMapper.apply(result.task())), nextCursor);
+    }
+
+    /**
+     * Метод обрабатывает get запрос для выгрузки всех задач пользователя одним ответом.
+     * Задачи читаются из базы курсором и пишутся прямо в поток ответа, поэтому объем памяти не зависит от их количества.
+     *
+     * @param email    --email пользователя, чьи задачи нужно выгрузить
+     * @param format   --формат выгрузки
+     * @param comments --выгружать ли комментарии задач
+     * @return поток с задачами пользователя в порядке возрастания id
+     */
+    @Operation(summary = "Выгрузить задачи пользователя", description = "Потоково выгружает все задачи пользователя (и, по запросу, их комментарии) в формате NDJSON или CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка начата"),
+            @ApiResponse(responseCode = "400", description = "Неверные параметры запроса")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Email пользователя", required = true)
+            @RequestParam @Email(message = "email must be in correct form") String email,
+            @Parameter(description = "Формат выгрузки")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Выгружать ли комментарии задач")
+            @RequestParam(defaultValue = "false") boolean comments) {
+        StreamingResponseBody body = out -> {
+            TaskExportWriter writer = format == ExportFormat.CSV
+                    ? new CsvTaskExportWriter(out, comments)
+                    : new NdjsonTaskExportWriter(out, objectMapper);
+            taskService.exportTasksByUser(email, comments, writer);
+        };
+        String fileName = "tasks." + format.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
     }
 
     /**
      * Метод обрабатывает put запрос для редактирования существующей задачи.
      *
-     * @param id   --идентификатор задачи
-     * @param task --экземпляр TaskRequest для редактирования задачи
-     * @return {@link TaskResponse} с информацией об обновленной задаче
+     * @param id      --идентификатор задачи
+     * @param task    --экземпляр TaskRequest для редактирования задачи
+     * @param ifMatch --ETag версии задачи, которую редактирует клиент
+     * @return {@link TaskResponse} с информацией об обновленной задаче и ETag ее новой версии
      */
     @Operation(summary = "Обновить задачу", description = "Обновляет данные существующей задачи")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача успешно обновлена", content = @Content(schema = @Schema(implementation = TaskResponse.class))),
             @ApiResponse(responseCode = "404", description = "Задача не найдена"),
-            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса"),
+            @ApiResponse(responseCode = "409", description = "Задача была изменена параллельно"),
+            @ApiResponse(responseCode = "412", description = "Версия задачи не совпадает с If-Match")
     })
     @PutMapping("/{id}/update_task")
-    public TaskResponse updateTask(
+    public ResponseEntity<TaskResponse> updateTask(
             @Parameter(description = "Идентификатор задачи", required = true)
             @PathVariable @Min(value = 1, message = "id must be positive") Long id,
-            @Valid @RequestBody TaskRequest task) {
-        return taskMapper.apply(taskService.updateTask(id, task));
+            @Valid @RequestBody TaskRequest task,
+            @Parameter(description = "ETag версии задачи, которую редактирует клиент")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updated = taskService.updateTask(id, task, ETagUtils.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtils.of(updated.getVersion())).body(taskMapper.apply(updated));
     }
 
     /**
@@ -147,23 +417,29 @@ public class ApplicationController {
     /**
      * Метод обрабатывает patch запрос для изменения статуса конкретной задачи.
      *
-     * @param id     --идентификатор задачи
-     * @param status --новый статус задачи
-     * @return {@link TaskResponse} с информацией об обновленной задаче
+     * @param id      --идентификатор задачи
+     * @param status  --новый статус задачи
+     * @param ifMatch --ETag версии задачи, которую изменяет клиент
+     * @return {@link TaskResponse} с информацией об обновленной задаче и ETag ее новой версии
      */
     @Operation(summary = "Изменить статус задачи", description = "Изменяет статус задачи по её идентификатору")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Статус задачи успешно обновлён", content = @Content(schema = @Schema(implementation = TaskResponse.class))),
             @ApiResponse(responseCode = "404", description = "Задача не найдена"),
-            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса"),
+            @ApiResponse(responseCode = "409", description = "Задача была изменена параллельно"),
+            @ApiResponse(responseCode = "412", description = "Версия задачи не совпадает с If-Match")
     })
     @PatchMapping("/{id}/change_status")
-    public TaskResponse changeStatus(
+    public ResponseEntity<TaskResponse> changeStatus(
             @Parameter(description = "Идентификатор задачи", required = true)
             @PathVariable @Min(value = 1, message = "id must be positive") Long id,
             @Parameter(description = "Новый статус задачи", required = true)
-            @NotNull(message = "status can't be null") @RequestParam Status status) {
-        return taskMapper.apply(taskService.changeStatus(id, status));
+            @NotNull(message = "status can't be null") @RequestParam Status status,
+            @Parameter(description = "ETag версии задачи, которую изменяет клиент")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updated = taskService.changeStatus(id, status, ETagUtils.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtils.of(updated.getVersion())).body(taskMapper.apply(updated));
     }
 
     /**
@@ -188,6 +464,57 @@ public class ApplicationController {
         return taskMapper.apply(taskService.setAssignee(id, assignee));
     }
 
+    /**
+     * Метод обрабатывает patch запрос для изменения статуса набора задач.
+     * Недоступные и не найденные задачи не прерывают операцию, а возвращаются с соответствующим результатом.
+     *
+     * @param request --идентификаторы задач и новый статус
+     * @return список {@link BulkTaskResult} с результатом для каждой задачи
+     */
+    @Operation(summary = "Изменить статус набора задач", description = "Изменяет статус набора задач одним запросом и возвращает результат для каждой задачи")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Запрос обработан"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+    })
+    @PatchMapping("/bulk/change_status")
+    public List<BulkTaskResult> changeStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return taskService.changeStatuses(request.getIds(), request.getStatus());
+    }
+
+    /**
+     * Метод обрабатывает patch запрос для назначения исполнителя набору задач.
+     * Недоступные и не найденные задачи не прерывают операцию, а возвращаются с соответствующим результатом.
+     *
+     * @param request --идентификаторы задач и email исполнителя
+     * @return список {@link BulkTaskResult} с результатом для каждой задачи
+     */
+    @Operation(summary = "Назначить исполнителя набору задач", description = "Назначает исполнителя набору задач одним запросом и возвращает результат для каждой задачи")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Запрос обработан"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+    })
+    @PatchMapping("/bulk/set_assignee")
+    public List<BulkTaskResult> setAssignees(@Valid @RequestBody BulkAssigneeRequest request) {
+        return taskService.setAssignees(request.getIds(), request.getAssignee());
+    }
+
+    /**
+     * Метод обрабатывает post запрос для удаления набора задач вместе с комментариями.
+     * Недоступные и не найденные задачи не прерывают операцию, а возвращаются с соответствующим результатом.
+     *
+     * @param request --идентификаторы задач
+     * @return список {@link BulkTaskResult} с результатом для каждой задачи
+     */
+    @Operation(summary = "Удалить набор задач", description = "Удаляет набор задач одним запросом и возвращает результат для каждой задачи")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Запрос обработан"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+    })
+    @PostMapping("/bulk/delete_tasks")
+    public List<BulkTaskResult> deleteTasks(@Valid @RequestBody BulkDeleteRequest request) {
+        return taskService.deleteTasks(request.getIds());
+    }
+
     /**
      * Метод обрабатывает post запрос для добавления комментария к задаче.
      *
@@ -208,4 +535,26 @@ public class ApplicationController {
             @Valid @RequestBody CommentRequest comment) {
         return taskMapper.apply(taskService.addComment(id, comment.getDescription()));
     }
+
+    /**
+     * Метод обрабатывает post запрос для добавления комментария к задаче и возвращает только добавленный комментарий.
+     * В отличие от {@link #addComment(Long, CommentRequest)} не загружает задачу и остальные ее комментарии.
+     *
+     * @param id      --идентификатор задачи
+     * @param comment --экземпляр комментария
+     * @return {@link TaskResponse.Comment} с информацией о добавленном комментарии
+     */
+    @Operation(summary = "Добавить комментарий к задаче (краткий ответ)", description = "Добавляет комментарий к задаче по её идентификатору и возвращает только этот комментарий")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Комментарий успешно добавлен", content = @Content(schema = @Schema(implementation = TaskResponse.Comment.class))),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена"),
+            @ApiResponse(responseCode = "400", description = "Неверные данные запроса")
+    })
+    @PostMapping("{id}/append_comment")
+    public TaskResponse.Comment appendComment(
+            @Parameter(description = "Идентификатор задачи", required = true)
+            @PathVariable @Min(value = 1, message = "id must be positive") Long id,
+            @Valid @RequestBody CommentRequest comment) {
+        return commentMapper.apply(taskService.appendComment(id, comment.getDescription()));
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на создание пакета задач")
+public class BatchTaskRequest {
+
+    @Valid
+    @NotEmpty(message = "tasks can't be empty")
+    @Size(max = 1000, message = "no more than 1000 tasks per batch")
+    @Schema(description = "Задачи для создания")
+    private List<TaskRequest> tasks;
+
+}
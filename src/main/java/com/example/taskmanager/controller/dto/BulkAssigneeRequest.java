@@ -0,0 +1,32 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на назначение исполнителя пакету задач")
+public class BulkAssigneeRequest {
+
+    @NotEmpty(message = "ids can't be empty")
+    @Size(max = 1000, message = "no more than 1000 tasks per request")
+    @Schema(description = "Идентификаторы задач", example = "[1, 2, 3]")
+    private List<@NotNull(message = "id can't be null") @Min(value = 1, message = "id must be positive") Long> ids;
+
+    @NotNull(message = "assignee can't be null")
+    @Email(message = "assignee must be in correct email form")
+    @Schema(description = "Email исполнителя задач", example = "assignee@example.com")
+    private String assignee;
+}
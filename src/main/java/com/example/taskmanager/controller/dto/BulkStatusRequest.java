@@ -0,0 +1,31 @@
+package com.example.taskmanager.controller.dto;
+
+import com.example.taskmanager.dao.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос на изменение статуса пакета задач")
+public class BulkStatusRequest {
+
+    @NotEmpty(message = "ids can't be empty")
+    @Size(max = 1000, message = "no more than 1000 tasks per request")
+    @Schema(description = "Идентификаторы задач", example = "[1, 2, 3]")
+    private List<@NotNull(message = "id can't be null") @Min(value = 1, message = "id must be positive") Long> ids;
+
+    @NotNull(message = "status can't be null")
+    @Schema(description = "Новый статус задач", example = "COMPLETED")
+    private Status status;
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Результат пакетной операции для одной задачи
+ */
+@Schema(description = "Результат пакетной операции для задачи")
+public record BulkTaskResult(
+        @Schema(description = "Идентификатор задачи", example = "1")
+        Long id,
+        @Schema(description = "Результат", example = "UPDATED")
+        Outcome outcome) {
+
+    @Schema(description = "Результат пакетной операции для задачи")
+    public enum Outcome {
+        /**
+         * Задача изменена
+         */
+        UPDATED,
+        /**
+         * Задача уже имела нужное значение и не изменялась (версия не увеличилась)
+         */
+        UNCHANGED,
+        /**
+         * Задача удалена
+         */
+        DELETED,
+        /**
+         * Задача не найдена
+         */
+        NOT_FOUND,
+        /**
+         * Пользователь не может изменять задачу
+         */
+        FORBIDDEN
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Перечисление форматов выгрузки задач
+ */
+@Getter
+@RequiredArgsConstructor
+@Schema(description = "Формат выгрузки задач")
+public enum ExportFormat {
+    /**
+     * JSON объект задачи в каждой строке
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    /**
+     * Таблица с разделителем-запятой
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+}
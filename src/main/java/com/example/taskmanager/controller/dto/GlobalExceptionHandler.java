@@ -1,9 +1,11 @@
 package com.example.taskmanager.controller.dto;
 
 import com.example.taskmanager.exception.ApplicationException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -42,6 +44,23 @@ public class GlobalExceptionHandler {
         return errors;
     }
 
+    /**
+     * Если не пройдет валидация параметров запроса (@RequestParam с аннотациями jakarta.validation),
+     * вернет в респонсе форматированный вывод об ошибке в том же виде, что и для тела запроса.
+     *
+     * @return список параметров, которые не прошли валидацию, и ошибки валидации
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleConstraintViolations(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation -> {
+            String path = violation.getPropertyPath().toString();
+            errors.put(path.substring(path.lastIndexOf('.') + 1), violation.getMessage());
+        });
+        return errors;
+    }
+
     /**
      * Если в процессе работы программы произойдет исключение приложения, которое мы специально выбрасываем
      * в некоторых случаях, вернется форматированный вывод (иначе код ошибки без данного метода) в респонсе, и
@@ -61,6 +80,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse("An unexpected error occurred"));
     }
 
+    /**
+     * Если задача была изменена другим запросом между чтением и сохранением,
+     * вернет 409 вместо молчаливой перезаписи чужих изменений.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    protected ResponseEntity<Object> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Task has been modified concurrently"));
+    }
+
     public record ErrorResponse(String message) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "Срез данных для курсорной пагинации (без подсчета общего количества)")
+public class SliceResponse<T> {
+
+    @Schema(description = "Содержимое среза", example = "[{...}, {...}]")
+    private List<T> content;
+
+    @Schema(description = "Запрошенный размер среза", example = "10")
+    private int size;
+
+    @Schema(description = "Есть ли следующий срез", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Курсор для получения следующего среза (null, если срез последний)", example = "MTIz")
+    private String nextCursor;
+
+    public static <T> SliceResponse<T> valueOf(Slice<T> slice, String nextCursor) {
+        return new SliceResponse<T>()
+                .setContent(slice.getContent())
+                .setSize(slice.getSize())
+                .setHasNext(slice.hasNext())
+                .setNextCursor(nextCursor);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "Изменения задач пользователя после номера изменения since")
+public class TaskChangesResponse {
+
+    @Schema(description = "Созданные или измененные задачи в текущем состоянии", example = "[{...}, {...}]")
+    private List<TaskResponse> changed;
+
+    @Schema(description = "Идентификаторы задач, удаленных или пропавших из списка пользователя", example = "[3, 7]")
+    private List<Long> removed;
+
+    @Schema(description = "Номер последнего изменения в ответе, передается как since в следующем запросе", example = "1024")
+    private long cursor;
+
+    @Schema(description = "Есть ли еще изменения после cursor", example = "false")
+    private boolean hasMore;
+}
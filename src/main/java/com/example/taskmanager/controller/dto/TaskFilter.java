@@ -0,0 +1,34 @@
+package com.example.taskmanager.controller.dto;
+
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.TaskRole;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "Фильтр списка задач пользователя (незаданные условия не применяются)")
+public class TaskFilter {
+
+    @Schema(description = "Статус задачи", example = "IN_PROGRESS")
+    private Status status;
+
+    @Schema(description = "Приоритет задачи", example = "HIGH")
+    private Priority priority;
+
+    @Schema(description = "Роль пользователя в задаче", example = "ANY")
+    private TaskRole role = TaskRole.ANY;
+
+    @Schema(description = "Задачи, созданные не раньше (включительно)", example = "2024-01-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @Schema(description = "Задачи, созданные раньше (не включительно)", example = "2024-02-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
@@ -38,6 +38,9 @@ public class TaskResponse {
     @Schema(description = "Дата и время создания задачи", example = "2024-08-09T12:34:56")
     private LocalDateTime createdAt;
 
+    @Schema(description = "Версия задачи, совпадает со значением ETag", example = "3")
+    private Long version;
+
     @Schema(description = "Список комментариев к задаче")
     private List<Comment> comments;
 
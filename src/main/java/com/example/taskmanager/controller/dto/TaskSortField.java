@@ -0,0 +1,42 @@
+package com.example.taskmanager.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Поля, по которым можно сортировать список задач.
+ * Для каждого поля есть индексы (creator, поле, id) и (assignee, поле, id), поэтому сортировка
+ * задач одного пользователя читает индекс по порядку вместо сортировки всех его задач.
+ */
+@Getter
+@RequiredArgsConstructor
+@Schema(description = "Поле сортировки задач")
+public enum TaskSortField {
+    /**
+     * Идентификатор (порядок создания задач)
+     */
+    ID("id"),
+    /**
+     * Дата и время создания
+     */
+    CREATED_AT("createdAt"),
+    /**
+     * Приоритет
+     */
+    PRIORITY("priority");
+
+    private final String property;
+
+    /**
+     * Метод возвращает сортировку по полю, дополненную сортировкой по id в том же направлении,
+     * чтобы порядок задач с одинаковым значением поля был однозначным между страницами
+     *
+     * @param direction --направление сортировки
+     */
+    public Sort toSort(Sort.Direction direction) {
+        Sort byId = Sort.by(direction, ID.property);
+        return this == ID ? byId : Sort.by(direction, property).and(byId);
+    }
+}
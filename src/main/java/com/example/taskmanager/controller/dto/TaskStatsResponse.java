@@ -0,0 +1,20 @@
+package com.example.taskmanager.controller.dto;
+
+import com.example.taskmanager.dao.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "Количество задач пользователя по статусам")
+public class TaskStatsResponse {
+
+    @Schema(description = "Задачи, созданные пользователем", example = "{\"PENDING\": 3, \"IN_PROGRESS\": 1, \"COMPLETED\": 7}")
+    private Map<Status, Long> created;
+
+    @Schema(description = "Задачи, на которые назначен пользователь", example = "{\"PENDING\": 0, \"IN_PROGRESS\": 2, \"COMPLETED\": 5}")
+    private Map<Status, Long> assigned;
+}
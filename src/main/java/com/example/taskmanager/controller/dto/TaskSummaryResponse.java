@@ -0,0 +1,33 @@
+package com.example.taskmanager.controller.dto;
+
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.TaskSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Краткое представление задачи для списков: без описания и комментариев.
+ * Заполняется из проекции {@link TaskSummary}, минуя загрузку сущности Task.
+ */
+@Schema(description = "Краткая информация о задаче")
+public record TaskSummaryResponse(
+        @Schema(description = "Идентификатор задачи", example = "1")
+        Long id,
+        @Schema(description = "Заголовок задачи", example = "Implement authentication")
+        String header,
+        @Schema(description = "Статус задачи", example = "IN_PROGRESS")
+        Status status,
+        @Schema(description = "Приоритет задачи", example = "HIGH")
+        Priority priority,
+        @Schema(description = "Исполнитель задачи", example = "jane.doe@example.com")
+        String assignee,
+        @Schema(description = "Дата и время создания задачи", example = "2024-08-09T12:34:56")
+        LocalDateTime createdAt) {
+
+    public static TaskSummaryResponse of(TaskSummary summary) {
+        return new TaskSummaryResponse(summary.id(), summary.header(), summary.status(), summary.priority(),
+                summary.assignee(), summary.createdAt());
+    }
+}
@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -28,10 +30,11 @@ public class Comment extends Identifiable {
     private String author;
 
     /**
-     * Задача к которой относится комментарий
+     * Задача к которой относится комментарий (комментарии удаляются вместе с задачей каскадом в базе)
      */
     @ManyToOne
     @JoinColumn(name = "task_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Task task;
 
     /**
@@ -9,7 +9,11 @@ import lombok.Getter;
 @Getter
 @MappedSuperclass
 public abstract class Identifiable {
+    /**
+     * Идентификатор из последовательности &lt;таблица&gt;_seq, выделяемый пулами по 50 значений.
+     * В отличие от IDENTITY не требует вставки для получения id, поэтому hibernate может группировать вставки в JDBC batch
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     protected Long id;
 }
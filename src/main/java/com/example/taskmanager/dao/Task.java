@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,12 +41,14 @@ public class Task extends Identifiable {
      * Статус задачи
      */
     @Column(name = "status")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private Status status;
 
     /**
      * Приоритет задачи
      */
     @Column(name = "priority")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private Priority priority;
 
     /**
@@ -71,6 +75,20 @@ public class Task extends Identifiable {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * Версия задачи для оптимистичной блокировки, увеличивается при каждом изменении задачи
+     */
+    @Version
+    @Column(name = "version")
+    private long version;
+
+    /**
+     * Номер последнего изменения задачи из последовательности task_change_seq. Значение выдает база:
+     * при вставке - значением по умолчанию, при изменении - запросы UPDATE из TaskRepository
+     */
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private long changeSeq;
+
     public Task setId(Long id) {
         this.id = id;
         return this;
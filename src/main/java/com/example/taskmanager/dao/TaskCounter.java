@@ -0,0 +1,34 @@
+package com.example.taskmanager.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * ORM представление счетчика задач пользователя в одной роли и одном статусе.
+ * Счетчики изменяются только приращениями из TaskCounterServiceImpl в транзакции изменения задачи
+ */
+@Setter
+@Getter
+@ToString
+@Entity
+@Table(name = "task_counter")
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class TaskCounter {
+
+    @EmbeddedId
+    private TaskCounterId id;
+
+    /**
+     * Количество задач
+     */
+    @Column(name = "task_count")
+    private long taskCount;
+}
@@ -0,0 +1,51 @@
+package com.example.taskmanager.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Ключ счетчика задач: пользователь, его роль в задачах и статус задач
+ */
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class TaskCounterId implements Serializable {
+    /**
+     * Порядок обновления счетчиков в транзакции. Все транзакции блокируют строки счетчиков в одном порядке,
+     * поэтому пакетное изменение и изменение одной задачи с общими счетчиками не взаимоблокируются
+     */
+    public static final Comparator<TaskCounterId> LOCK_ORDER = Comparator.comparing(TaskCounterId::getEmail)
+            .thenComparing(TaskCounterId::getRole)
+            .thenComparing(TaskCounterId::getStatus);
+
+    /**
+     * Email пользователя
+     */
+    @Column(name = "email")
+    private String email;
+
+    /**
+     * Роль пользователя в подсчитанных задачах (CREATOR или ASSIGNEE)
+     */
+    @Column(name = "role")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private TaskRole role;
+
+    /**
+     * Статус подсчитанных задач
+     */
+    @Column(name = "status")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private Status status;
+}
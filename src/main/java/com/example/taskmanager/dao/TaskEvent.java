@@ -0,0 +1,78 @@
+package com.example.taskmanager.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * ORM представление события outbox об изменении задачи.
+ * События вставляются запросом INSERT ... SELECT (см. TaskEventRepository), поэтому id выдает сама база
+ */
+@Setter
+@Getter
+@ToString
+@Entity
+@Table(name = "task_event")
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class TaskEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Идентификатор измененной задачи
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * Тип изменения
+     */
+    @Column(name = "type")
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private TaskEventType type;
+
+    /**
+     * Автор задачи в момент изменения
+     */
+    @Column(name = "creator")
+    private String creator;
+
+    /**
+     * Исполнитель задачи в момент изменения
+     */
+    @Column(name = "assignee")
+    private String assignee;
+
+    /**
+     * Исполнитель задачи до изменения, если изменение сменило исполнителя
+     */
+    @Column(name = "previous_assignee")
+    private String previousAssignee;
+
+    /**
+     * Email пользователя, изменившего задачу
+     */
+    @Column(name = "actor")
+    private String actor;
+
+    /**
+     * Дата и время изменения
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanager.dao;
+
+/**
+ * Тип изменения задачи в outbox (хранится как SMALLINT по ordinal)
+ */
+public enum TaskEventType {
+    /**
+     * Задача создана
+     */
+    CREATED,
+    /**
+     * Изменены поля задачи
+     */
+    UPDATED,
+    /**
+     * Изменен статус задачи
+     */
+    STATUS_CHANGED,
+    /**
+     * Изменен исполнитель задачи
+     */
+    ASSIGNEE_CHANGED,
+    /**
+     * К задаче добавлен комментарий
+     */
+    COMMENT_ADDED,
+    /**
+     * Задача удалена
+     */
+    DELETED
+}
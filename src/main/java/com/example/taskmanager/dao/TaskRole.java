@@ -0,0 +1,22 @@
+package com.example.taskmanager.dao;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Роль пользователя в задаче: фильтр списка задач и разрез счетчиков задач (хранится как SMALLINT по ordinal)
+ */
+@Schema(description = "Роль пользователя в задаче")
+public enum TaskRole {
+    /**
+     * Пользователь создал задачу или назначен ее исполнителем
+     */
+    ANY,
+    /**
+     * Пользователь создал задачу
+     */
+    CREATOR,
+    /**
+     * Пользователь назначен исполнителем задачи
+     */
+    ASSIGNEE
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.dao;
+
+/**
+ * Поля задачи, от которых зависят права пользователя и счетчики задач.
+ * Читается проекцией без загрузки сущности Task, например для пакетных операций
+ *
+ * @param id       --идентификатор задачи
+ * @param creator  --автор задачи
+ * @param assignee --исполнитель задачи
+ * @param status   --статус задачи
+ */
+public record TaskSnapshot(Long id, String creator, String assignee, Status status) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getId(), task.getCreator(), task.getAssignee(), task.getStatus());
+    }
+
+    public TaskSnapshot withStatus(Status status) {
+        return new TaskSnapshot(id, creator, assignee, status);
+    }
+
+    public TaskSnapshot withAssignee(String assignee) {
+        return new TaskSnapshot(id, creator, assignee, status);
+    }
+}
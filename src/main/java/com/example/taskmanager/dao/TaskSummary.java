@@ -0,0 +1,18 @@
+package com.example.taskmanager.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля задачи для кратких списков: без описания и комментариев.
+ * Читается проекцией без загрузки сущности Task
+ *
+ * @param id        --идентификатор задачи
+ * @param header    --заголовок задачи
+ * @param status    --статус задачи
+ * @param priority  --приоритет задачи
+ * @param assignee  --исполнитель задачи
+ * @param createdAt --дата и время создания задачи
+ */
+public record TaskSummary(Long id, String header, Status status, Priority priority, String assignee,
+                          LocalDateTime createdAt) {
+}
@@ -0,0 +1,57 @@
+package com.example.taskmanager.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * ORM представление задачи, пропавшей из списка пользователя (задача удалена или пользователь снят исполнителем).
+ * Записи вставляются запросами INSERT ... SELECT из TaskTombstoneRepository, поэтому id выдает сама база
+ */
+@Setter
+@Getter
+@ToString
+@Entity
+@Table(name = "task_tombstone")
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Идентификатор задачи
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * Email пользователя, из списка которого пропала задача
+     */
+    @Column(name = "email")
+    private String email;
+
+    /**
+     * Номер изменения из последовательности task_change_seq
+     */
+    @Column(name = "change_seq")
+    private long changeSeq;
+
+    /**
+     * Дата и время изменения
+     */
+    @Column(name = "removed_at")
+    private LocalDateTime removedAt;
+}
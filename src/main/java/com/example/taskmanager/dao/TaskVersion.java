@@ -0,0 +1,15 @@
+package com.example.taskmanager.dao;
+
+/**
+ * Идентификатор и версия задачи: все, от чего зависит ETag страницы задач.
+ * Читается проекцией без загрузки сущности Task и ее комментариев
+ *
+ * @param id      --идентификатор задачи
+ * @param version --версия задачи
+ */
+public record TaskVersion(Long id, long version) {
+
+    public static TaskVersion of(Task task) {
+        return new TaskVersion(task.getId(), task.getVersion());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Cursor is malformed")
+public class InvalidCursorException extends ApplicationException {
+    public InvalidCursorException() {
+        super("Cursor is malformed");
+    }
+}
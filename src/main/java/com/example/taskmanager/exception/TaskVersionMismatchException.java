@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "Task has been modified since it was read")
+public class TaskVersionMismatchException extends ApplicationException {
+    public TaskVersionMismatchException() {
+        super("Task has been modified since it was read");
+    }
+}
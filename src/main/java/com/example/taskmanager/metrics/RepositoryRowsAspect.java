@@ -0,0 +1,70 @@
+package com.example.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Записывает количество строк, возвращенных методами репозиториев, в метрику {@value #METRIC_NAME}
+ * с тегами repository и method. Время выполнения методов репозиториев Spring Boot уже записывает
+ * в spring.data.repository.invocations.
+ * Для потоков (Stream) количество строк неизвестно до их чтения, поэтому они не учитываются.
+ * Default-методы репозиториев не учитываются: они вызывают запросы через тот же прокси, и строки этих запросов
+ * уже записаны под их собственными именами.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryRowsAspect {
+    public static final String METRIC_NAME = "task.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.example.taskmanager.repository..*+.*(..)) && !execution(* java.lang.Object.*(..))")
+    public Object recordRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (((MethodSignature) joinPoint.getSignature()).getMethod().isDefault()) {
+            return result;
+        }
+        long rows = rows(result);
+        if (rows >= 0) {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("Rows returned by repository methods")
+                    .baseUnit("rows")
+                    .tag("repository", repositoryName(joinPoint))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("com.example.taskmanager.repository")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
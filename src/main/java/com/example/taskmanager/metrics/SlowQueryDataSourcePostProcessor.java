@@ -0,0 +1,86 @@
+package com.example.taskmanager.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Оборачивает DataSource так, чтобы время выполнения каждого JDBC запроса передавалось в {@link SlowQueryLog}.
+ * Обертка прозрачна для пула соединений: unwrap/isWrapperFor передаются исходному DataSource, поэтому метрики
+ * и health-check Hikari продолжают работать.
+ */
+@RequiredArgsConstructor
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(dataSource, slowQueryLog.getObject());
+        }
+        return bean;
+    }
+
+    static DataSource wrap(DataSource dataSource, SlowQueryLog slowQueryLog) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? wrap(connection, slowQueryLog) : result;
+        });
+    }
+
+    private static Connection wrap(Connection connection, SlowQueryLog slowQueryLog) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0], slowQueryLog);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0], slowQueryLog);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null, slowQueryLog);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T wrap(Class<T> type, T statement, String preparedSql, SlowQueryLog slowQueryLog) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                if (sql != null) {
+                    slowQueryLog.record(sql, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
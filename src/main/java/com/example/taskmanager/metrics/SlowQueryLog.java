@@ -0,0 +1,80 @@
+package com.example.taskmanager.metrics;
+
+import com.example.taskmanager.utils.SqlFingerprintUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал медленных SQL запросов.
+ * Поток, выполнивший запрос, только сравнивает время с порогом и передает запрос в очередь; нормализация,
+ * вычисление отпечатка и запись в лог выполняются отдельным потоком. При переполнении очереди записи
+ * отбрасываются, а не задерживают запросы. Все медленные запросы учитываются в метрике {@value #METRIC_NAME},
+ * в лог попадает доля sampleRate из них.
+ */
+@Slf4j
+public class SlowQueryLog implements DisposableBean {
+    public static final String METRIC_NAME = "sql.slow.statements";
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Counter slowStatements;
+    private final Executor executor;
+
+    public SlowQueryLog(Duration threshold, double sampleRate, int queueCapacity, MeterRegistry meterRegistry) {
+        this(threshold, sampleRate, meterRegistry, new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy()));
+    }
+
+    SlowQueryLog(Duration threshold, double sampleRate, MeterRegistry meterRegistry, Executor executor) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.slowStatements = Counter.builder(METRIC_NAME)
+                .description("SQL statements slower than the slow query log threshold")
+                .register(meterRegistry);
+        this.executor = executor;
+    }
+
+    /**
+     * Метод вызывается после выполнения каждого запроса
+     *
+     * @param sql          --текст запроса
+     * @param elapsedNanos --время выполнения запроса
+     */
+    public void record(String sql, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        slowStatements.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        executor.execute(() -> {
+            String normalized = SqlFingerprintUtils.normalize(sql);
+            log.warn("Slow SQL {} ms [{}] {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    SqlFingerprintUtils.fingerprint(normalized), normalized);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
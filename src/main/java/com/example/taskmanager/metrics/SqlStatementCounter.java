@@ -0,0 +1,28 @@
+package com.example.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Счетчик SQL запросов, подготовленных Hibernate в текущем потоке.
+ * Счетчик только растет, поэтому количество запросов за участок кода - это разность значений {@link #current()}
+ * до и после него; сбрасывать его между запросами не нужно.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Метод возвращает количество SQL запросов, выполненных в текущем потоке с момента его создания
+     */
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Записывает количество SQL запросов, выполненных при обработке HTTP запроса, в метрику
+ * {@value #METRIC_NAME} с тегами method и uri (шаблон пути, как в http.server.requests).
+ * Рост значения для одного и того же uri - признак появившейся проблемы N+1.
+ */
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = SqlStatementCounter.current();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements executed while handling an HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.current() - before);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dao.Comment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+}
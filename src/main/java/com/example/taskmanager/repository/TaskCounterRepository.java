@@ -0,0 +1,74 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dao.TaskCounter;
+import com.example.taskmanager.dao.TaskCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounterId> {
+
+    List<TaskCounter> findByIdEmail(String email);
+
+    /**
+     * Прибавляет delta к счетчику, создавая счетчик при первом обращении.
+     * Обычно счетчик уже есть, и выполняется один UPDATE. Иначе счетчик создается через INSERT ... ON CONFLICT DO NOTHING:
+     * при одновременном первом обращении из двух транзакций вторая ждет первую, а не падает на уникальном ключе,
+     * как MERGE, который в PostgreSQL и H2 не атомарен для еще не существующей строки.
+     * Роль и статус передаются значениями ordinal, как они хранятся в колонках SMALLINT
+     */
+    default int addDelta(String email, int role, int status, long delta) {
+        int updated = updateDelta(email, role, status, delta);
+        if (updated == 0) {
+            insertIfAbsent(email, role, status);
+            updated = updateDelta(email, role, status, delta);
+        }
+        return updated;
+    }
+
+    @Modifying
+    @Query(value = TaskSql.UPDATE_COUNTER, nativeQuery = true)
+    int updateDelta(@Param("email") String email, @Param("role") int role, @Param("status") int status, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = TaskSql.INSERT_COUNTER_IF_ABSENT, nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email, @Param("role") int role, @Param("status") int status);
+
+    /**
+     * Расхождение счетчиков с таблицей task: для каждого ключа - сколько нужно прибавить к счетчику,
+     * чтобы он совпал с пересчетом (роль 1 - CREATOR, 2 - ASSIGNEE). Пересчет и счетчики читаются одним запросом,
+     * то есть из одного снимка данных, а строки счетчиков не блокируются
+     */
+    @Query(value = """
+            SELECT d.email AS email, d.role AS role, d.status AS status, SUM(d.delta) AS delta FROM (
+                SELECT creator AS email, 1 AS role, status, count(*) AS delta FROM task
+                WHERE creator IS NOT NULL AND status IS NOT NULL GROUP BY creator, status
+                UNION ALL
+                SELECT assignee, 2, status, count(*) FROM task
+                WHERE assignee IS NOT NULL AND status IS NOT NULL GROUP BY assignee, status
+                UNION ALL
+                SELECT email, role, status, -task_count FROM task_counter
+            ) d
+            GROUP BY d.email, d.role, d.status
+            HAVING SUM(d.delta) <> 0""",
+            nativeQuery = true)
+    List<CounterDrift> findDrift();
+
+    /**
+     * Расхождение одного счетчика с таблицей task
+     */
+    interface CounterDrift {
+        String getEmail();
+
+        int getRole();
+
+        int getStatus();
+
+        long getDelta();
+    }
+}
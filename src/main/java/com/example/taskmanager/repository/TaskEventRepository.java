@@ -0,0 +1,53 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dao.TaskEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    /**
+     * Пишет по одному событию на каждую существующую задачу из набора одним INSERT ... SELECT,
+     * автор и исполнитель копируются из задачи. Тот же запрос выполняет реактивный модуль ({@link TaskSql#INSERT_EVENTS})
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = TaskSql.INSERT_EVENTS, nativeQuery = true)
+    int insertForTasks(@Param("taskIds") Collection<Long> taskIds, @Param("type") int type,
+                       @Param("actor") String actor, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Пишет события смены исполнителя до UPDATE: текущий исполнитель задачи сохраняется как предыдущий
+     * ({@link TaskSql#INSERT_REASSIGN_EVENTS})
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = TaskSql.INSERT_REASSIGN_EVENTS, nativeQuery = true)
+    int insertReassignForTasks(@Param("taskIds") Collection<Long> taskIds, @Param("assignee") String assignee,
+                               @Param("type") int type, @Param("actor") String actor,
+                               @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Самые старые неопубликованные события. Строки блокируются до конца транзакции публикации,
+     * а строки, уже заблокированные другим экземпляром приложения, пропускаются (SKIP LOCKED)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM TaskEvent e ORDER BY e.id")
+    List<TaskEvent> lockOldest(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TaskEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
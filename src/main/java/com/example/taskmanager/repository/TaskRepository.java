@@ -1,18 +1,199 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskSnapshot;
+import com.example.taskmanager.dao.TaskSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    @Query("SELECT t FROM Task t WHERE t.assignee = :email or t.creator= :email order by t.id desc ")
-    Page<Task> findTasksByUsersEmail(@Param("email") String email, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    /**
+     * Следующий номер изменения задачи. Каждый UPDATE задачи присваивает его колонке change_seq,
+     * чтобы изменение попало в выдачу {@link #findChangedByUsersEmail}
+     */
+    String NEXT_CHANGE_SEQ = "function('nextval', 'task_change_seq')";
 
+    /**
+     * Количество задач, которое выгрузка читает за один запрос
+     */
+    int EXPORT_FETCH_SIZE = 500;
 
+    @Query(value = TaskSql.COUNT_USER_TASKS, nativeQuery = true)
+    long countByUsersEmail(@Param("email") String email);
+
+    /**
+     * Задачи пользователя с id меньше beforeId по убыванию id. Читается на одну задачу больше размера страницы,
+     * чтобы определить, есть ли следующая
+     */
+    default Slice<Task> findTasksByUsersEmailBefore(String email, Long beforeId, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<Task> tasks = findBeforeByUsersEmail(email, beforeId, size + 1);
+        boolean hasNext = tasks.size() > size;
+        return new SliceImpl<>(hasNext ? tasks.subList(0, size) : tasks, pageable, hasNext);
+    }
+
+    @Query(value = TaskSql.USER_TASKS_BEFORE, nativeQuery = true)
+    List<Task> findBeforeByUsersEmail(@Param("email") String email, @Param("beforeId") Long beforeId, @Param("limit") int limit);
+
+    /**
+     * Не более limit задач пользователя с id больше afterId по возрастанию id: выгрузка читает задачи
+     * порциями, продолжая с последнего выгруженного id
+     */
+    @Query(value = TaskSql.USER_TASKS_AFTER, nativeQuery = true)
+    List<Task> findTasksByUsersEmailAfter(@Param("email") String email, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Краткие представления страницы задач пользователя по убыванию id. Каждая роль пользователя читается своим
+     * индексом до offset + size строк ({@link TaskSql#USER_TASK_IDS_TOP}), идентификаторы страницы читаются только
+     * из индексов, затем проекция читается по первичному ключу. Общее число задач запрашивается, только если его
+     * нельзя определить по самой странице
+     */
+    default Page<TaskSummary> findTaskSummariesByUsersEmail(String email, Pageable pageable) {
+        List<Long> ids = findPageIdsByUsersEmail(email, pageable.getPageSize(), pageable.getOffset(),
+                pageable.getOffset() + pageable.getPageSize());
+        List<TaskSummary> summaries = ids.isEmpty() ? List.of() : findSummariesByIds(ids);
+        return PageableExecutionUtils.getPage(summaries, pageable, () -> countByUsersEmail(email));
+    }
+
+    @Query(value = TaskSql.USER_TASK_IDS_PAGE, nativeQuery = true)
+    List<Long> findPageIdsByUsersEmail(@Param("email") String email, @Param("limit") int limit,
+                                       @Param("offset") long offset, @Param("branchLimit") long branchLimit);
+
+    @Query("SELECT new com.example.taskmanager.dao.TaskSummary(t.id, t.header, t.status, t.priority, t.assignee, t.createdAt) " +
+            "FROM Task t WHERE t.id IN :ids ORDER BY t.id DESC")
+    List<TaskSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Догружает комментарии сразу для набора задач одним запросом.
+     * Задачи, уже находящиеся в контексте персистентности, получают инициализированную коллекцию comments,
+     * поэтому последующий маппинг страницы не порождает отдельный запрос на каждую задачу.
+     */
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.comments WHERE t.id IN :ids")
+    List<Task> fetchCommentsByTaskIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.comments WHERE t.id = :id")
+    Optional<Task> findWithCommentsById(@Param("id") Long id);
+
+    /**
+     * Загружает задачу, версия которой будет увеличена при commit, даже если сама задача не изменится
+     * (например, при добавлении комментария). Комментарии не загружаются: блокировка распространилась бы
+     * и на них, а у комментариев нет версии.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findAndIncrementVersionById(@Param("id") Long id);
+
+    @Query("SELECT t.creator FROM Task t WHERE t.id = :id")
+    Optional<String> findCreatorById(@Param("id") Long id);
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ + " WHERE t.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    /**
+     * Присваивает задаче новый номер изменения, не меняя версию (версию увеличивает сам Hibernate,
+     * например при блокировке OPTIMISTIC_FORCE_INCREMENT)
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.changeSeq = " + NEXT_CHANGE_SEQ + " WHERE t.id = :id")
+    int markChanged(@Param("id") Long id);
+
+    /**
+     * Не более limit задач пользователя, измененных после номера since и не позже номера upTo, в порядке изменения.
+     * Условие на номер изменения и limit повторяются в обеих ветках, чтобы каждая читала только первые
+     * изменившиеся строки своим индексом ({@link TaskSql#USER_TASK_IDS_CHANGED}).
+     */
+    @Query(value = TaskSql.USER_TASKS_CHANGED, nativeQuery = true)
+    List<Task> findChangedByUsersEmail(@Param("email") String email, @Param("since") long since, @Param("upTo") long upTo,
+                                       @Param("limit") int limit);
+
+    /**
+     * Выдает следующий номер изменения, не присваивая его задаче (см. {@link com.example.taskmanager.service.impl.TaskChangeWatermark}).
+     * nextval нельзя вызвать в транзакции только для чтения, в которой по умолчанию выполняются запросы репозитория
+     */
+    @Transactional
+    @Query(value = "SELECT " + TaskSql.NEXT_CHANGE_SEQ, nativeQuery = true)
+    long nextChangeSeq();
+
+    /**
+     * Меняет статус задачи, только если ее версия не изменилась с момента чтения (compare-and-set).
+     * Возвращает 0, если задачу успели изменить или удалить параллельно.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ +
+            " WHERE t.id = :id AND t.version = :version")
+    int updateStatusAtVersion(@Param("id") Long id, @Param("version") long version, @Param("status") Status status);
+
+    /**
+     * Меняет исполнителя задачи, только если ее версия не изменилась с момента чтения (см. {@link #updateStatusAtVersion})
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignee = :assignee, t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ +
+            " WHERE t.id = :id AND t.version = :version")
+    int updateAssigneeAtVersion(@Param("id") Long id, @Param("version") long version, @Param("assignee") String assignee);
+
+    /**
+     * Меняет изменяемые клиентом поля задачи, только если ее версия не изменилась с момента чтения
+     * (см. {@link #updateStatusAtVersion})
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.header = :header, t.description = :description, t.priority = :priority, " +
+            "t.assignee = :assignee, t.status = :status, t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ +
+            " WHERE t.id = :id AND t.version = :version")
+    int updateAtVersion(@Param("id") Long id, @Param("version") long version, @Param("header") String header,
+                        @Param("description") String description, @Param("priority") Priority priority,
+                        @Param("assignee") String assignee, @Param("status") Status status);
+
+    /**
+     * Состояние набора задач, нужное для проверки прав и пересчета счетчиков при массовом изменении.
+     * Строки блокируются до конца транзакции, чтобы параллельное изменение не разошлось с учтенным в счетчиках состоянием.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.taskmanager.dao.TaskSnapshot(t.id, t.creator, t.assignee, t.status) FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<TaskSnapshot> lockSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Меняет статус набора задач одним UPDATE. Версия увеличивается, как при изменении задачи через сущность,
+     * контекст персистентности очищается, чтобы не вернуть устаревшие копии задач.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ + " WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    /**
+     * Меняет исполнителя набора задач одним UPDATE (см. {@link #updateStatus})
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignee = :assignee, t.version = t.version + 1, t.changeSeq = " + NEXT_CHANGE_SEQ + " WHERE t.id IN :ids")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") String assignee);
+
+    /**
+     * Удаляет набор задач одним DELETE без загрузки сущностей. Комментарии удаляет каскад внешнего ключа
+     * fk_comment_task (V8, ключ hibernate без каскада удаляет vendor-миграция V12).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
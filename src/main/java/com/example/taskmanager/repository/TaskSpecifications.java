@@ -0,0 +1,104 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.controller.dto.TaskFilter;
+import com.example.taskmanager.dao.Priority;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskRole;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.experimental.UtilityClass;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Условия выборки задач для {@link TaskRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ * Незаданные условия фильтра не попадают в запрос, поэтому для каждого набора фильтров база получает
+ * запрос только с нужными условиями и может выбрать подходящий индекс.
+ */
+@UtilityClass
+public class TaskSpecifications {
+    private static final String ID = "id";
+    private static final String CREATOR = "creator";
+    private static final String ASSIGNEE = "assignee";
+    private static final String STATUS = "status";
+    private static final String PRIORITY = "priority";
+    private static final String CREATED_AT = "createdAt";
+
+    /**
+     * Метод собирает условие выборки задач пользователя по фильтру
+     *
+     * @param email    --email пользователя
+     * @param filter   --фильтр списка задач
+     * @param pageable --страница, которую нужно прочитать (ее сортировка и граница offset + size)
+     */
+    public static Specification<Task> of(String email, TaskFilter filter, Pageable pageable) {
+        Specification<Task> conditions = Specification.where(null);
+        if (filter.getStatus() != null) {
+            conditions = conditions.and(hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            conditions = conditions.and(hasPriority(filter.getPriority()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions = conditions.and(createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions = conditions.and(createdBefore(filter.getCreatedTo()));
+        }
+        return switch (filter.getRole() == null ? TaskRole.ANY : filter.getRole()) {
+            case CREATOR -> conditions.and((root, query, cb) -> cb.equal(root.get(CREATOR), email));
+            case ASSIGNEE -> conditions.and((root, query, cb) -> cb.equal(root.get(ASSIGNEE), email));
+            case ANY -> visibleTo(email, conditions, pageable);
+        };
+    }
+
+    /**
+     * Задачи, которые пользователь создал или на которые назначен, как в {@link TaskSql#USER_TASK_IDS_TOP}:
+     * объединение двух выборок, каждая со всеми условиями фильтра читается своим индексом в порядке страницы
+     * и останавливается на offset + size строках. Для запроса количества граница не применяется
+     */
+    static Specification<Task> visibleTo(String email, Specification<Task> conditions, Pageable pageable) {
+        return (root, query, cb) -> {
+            boolean limited = pageable.isPaged() && pageable.getSort().isSorted() && !Long.class.equals(query.getResultType());
+            List<Subquery<Long>> branches = new ArrayList<>(2);
+            for (String role : List.of(CREATOR, ASSIGNEE)) {
+                JpaSubQuery<Long> branch = (JpaSubQuery<Long>) query.subquery(Long.class);
+                Root<Task> branchRoot = branch.from(Task.class);
+                Predicate predicate = cb.equal(branchRoot.get(role), email);
+                Predicate filtered = conditions.toPredicate(branchRoot, query, cb);
+                branch.select(branchRoot.get(ID)).where(filtered == null ? predicate : cb.and(predicate, filtered));
+                if (limited) {
+                    branch.orderBy(QueryUtils.toOrders(pageable.getSort(), branchRoot, cb))
+                            .fetch(pageable.getOffset() + pageable.getPageSize());
+                }
+                branches.add(branch);
+            }
+            return root.get(ID).in(((HibernateCriteriaBuilder) cb).union(branches.get(0), branches.get(1)));
+        };
+    }
+
+    public static Specification<Task> hasStatus(Status status) {
+        return (root, query, cb) -> cb.equal(root.get(STATUS), status);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get(PRIORITY), priority);
+    }
+
+    public static Specification<Task> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(CREATED_AT), from);
+    }
+
+    public static Specification<Task> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get(CREATED_AT), to);
+    }
+}
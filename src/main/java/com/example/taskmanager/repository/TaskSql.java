@@ -0,0 +1,124 @@
+package com.example.taskmanager.repository;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Запросы на SQL, общие для репозиториев основного модуля (native-запросы JPA) и реактивного модуля (R2DBC),
+ * чтобы оба стека писали в общие таблицы и читали списки задач одинаково. Параметры именованные, роль, статус
+ * и тип события передаются значениями ordinal, как они хранятся в колонках SMALLINT
+ */
+@UtilityClass
+public class TaskSql {
+
+    /**
+     * Следующий номер изменения задачи в native-запросах (в JPQL - {@link TaskRepository#NEXT_CHANGE_SEQ})
+     */
+    public static final String NEXT_CHANGE_SEQ = "nextval('task_change_seq')";
+
+    /**
+     * Колонки таблицы task, которые отображаются на сущность Task
+     */
+    public static final String TASK_COLUMNS = "t.id, t.header, t.description, t.status, t.priority, t.creator, " +
+            "t.assignee, t.created_at, t.version, t.change_seq";
+
+    /**
+     * Все идентификаторы задач пользователя :email (для подсчета). Вместо "assignee = :email or creator = :email"
+     * используется объединение двух выборок: каждая читается своим индексом (idx_task_creator_id,
+     * idx_task_assignee_id), тогда как условие с OR по разным колонкам приводит к полному просмотру таблицы
+     */
+    public static final String USER_TASK_IDS = "(SELECT c.id FROM task c WHERE c.creator = :email " +
+            "UNION SELECT a.id FROM task a WHERE a.assignee = :email)";
+
+    /**
+     * Первые :branchLimit идентификаторов задач пользователя в каждой роли по убыванию id.
+     * Каждая ветка читает свой индекс по порядку и останавливается на :branchLimit строках, поэтому страница
+     * со смещением offset стоит offset + size строк на ветку, а не все задачи пользователя
+     */
+    public static final String USER_TASK_IDS_TOP = "((SELECT c.id FROM task c WHERE c.creator = :email " +
+            "ORDER BY c.id DESC LIMIT :branchLimit) " +
+            "UNION (SELECT a.id FROM task a WHERE a.assignee = :email ORDER BY a.id DESC LIMIT :branchLimit))";
+
+    /**
+     * Не более :limit идентификаторов задач пользователя в каждой роли, меньших :beforeId, по убыванию id
+     */
+    public static final String USER_TASK_IDS_BEFORE = "((SELECT c.id FROM task c WHERE c.creator = :email " +
+            "AND c.id < :beforeId ORDER BY c.id DESC LIMIT :limit) " +
+            "UNION (SELECT a.id FROM task a WHERE a.assignee = :email AND a.id < :beforeId ORDER BY a.id DESC LIMIT :limit))";
+
+    /**
+     * Не более :limit идентификаторов задач пользователя в каждой роли, больших :afterId, по возрастанию id
+     */
+    public static final String USER_TASK_IDS_AFTER = "((SELECT c.id FROM task c WHERE c.creator = :email " +
+            "AND c.id > :afterId ORDER BY c.id LIMIT :limit) " +
+            "UNION (SELECT a.id FROM task a WHERE a.assignee = :email AND a.id > :afterId ORDER BY a.id LIMIT :limit))";
+
+    /**
+     * Не более :limit идентификаторов задач пользователя в каждой роли, измененных после номера :since
+     * и не позже номера :upTo, в порядке изменения (индексы idx_task_creator_change_seq, idx_task_assignee_change_seq)
+     */
+    public static final String USER_TASK_IDS_CHANGED = "((SELECT c.id FROM task c WHERE c.creator = :email " +
+            "AND c.change_seq > :since AND c.change_seq <= :upTo ORDER BY c.change_seq LIMIT :limit) " +
+            "UNION (SELECT a.id FROM task a WHERE a.assignee = :email AND a.change_seq > :since " +
+            "AND a.change_seq <= :upTo ORDER BY a.change_seq LIMIT :limit))";
+
+    /**
+     * Страница задач пользователя по убыванию id (реактивный модуль): :branchLimit = :offset + :limit
+     */
+    public static final String USER_TASKS_PAGE = "SELECT " + TASK_COLUMNS + " FROM task t WHERE t.id IN " +
+            USER_TASK_IDS_TOP + " ORDER BY t.id DESC LIMIT :limit OFFSET :offset";
+
+    /**
+     * Идентификаторы страницы задач пользователя (см. {@link #USER_TASKS_PAGE}) без чтения самих задач
+     */
+    public static final String USER_TASK_IDS_PAGE = "SELECT u.id FROM " + USER_TASK_IDS_TOP + " u " +
+            "ORDER BY u.id DESC LIMIT :limit OFFSET :offset";
+
+    public static final String COUNT_USER_TASKS = "SELECT count(*) FROM task t WHERE t.id IN " + USER_TASK_IDS;
+
+    public static final String USER_TASKS_BEFORE = "SELECT " + TASK_COLUMNS + " FROM task t WHERE t.id IN " +
+            USER_TASK_IDS_BEFORE + " ORDER BY t.id DESC LIMIT :limit";
+
+    public static final String USER_TASKS_AFTER = "SELECT " + TASK_COLUMNS + " FROM task t WHERE t.id IN " +
+            USER_TASK_IDS_AFTER + " ORDER BY t.id LIMIT :limit";
+
+    public static final String USER_TASKS_CHANGED = "SELECT " + TASK_COLUMNS + " FROM task t WHERE t.id IN " +
+            USER_TASK_IDS_CHANGED + " ORDER BY t.change_seq LIMIT :limit";
+
+    /**
+     * Прибавляет :delta к существующему счетчику (см. {@link TaskCounterRepository#addDelta})
+     */
+    public static final String UPDATE_COUNTER = "UPDATE task_counter SET task_count = task_count + :delta " +
+            "WHERE email = :email AND role = :role AND status = :status";
+
+    /**
+     * Создает нулевой счетчик, если его еще нет; при одновременном создании вторая транзакция ждет первую
+     */
+    public static final String INSERT_COUNTER_IF_ABSENT = "INSERT INTO task_counter (email, role, status, task_count) " +
+            "VALUES (:email, :role, :status, 0) ON CONFLICT DO NOTHING";
+
+    /**
+     * Пишет в outbox по одному событию на каждую существующую задачу из :taskIds одним INSERT ... SELECT,
+     * автор и исполнитель копируются из задачи
+     */
+    public static final String INSERT_EVENTS = "INSERT INTO task_event (task_id, creator, assignee, type, actor, created_at) " +
+            "SELECT t.id, t.creator, t.assignee, :type, :actor, :createdAt FROM task t WHERE t.id IN (:taskIds)";
+
+    /**
+     * То же, что {@link #INSERT_EVENTS}, но выполняется до UPDATE, меняющего исполнителя: текущий исполнитель
+     * задачи записывается как предыдущий, а исполнителем события становится :assignee
+     */
+    public static final String INSERT_REASSIGN_EVENTS = "INSERT INTO task_event (task_id, creator, assignee, previous_assignee, type, actor, created_at) " +
+            "SELECT t.id, t.creator, :assignee, t.assignee, :type, :actor, :createdAt FROM task t WHERE t.id IN (:taskIds)";
+
+    /**
+     * Новая задача с идентификатором из task_seq; version и change_seq получают значения по умолчанию
+     */
+    public static final String INSERT_TASK = "INSERT INTO task (id, header, description, status, priority, creator, assignee, created_at) " +
+            "VALUES (:id, :header, :description, :status, :priority, :creator, :assignee, :createdAt)";
+
+    /**
+     * Новый комментарий с идентификатором из comment_seq
+     */
+    public static final String INSERT_COMMENT = "INSERT INTO comment (id, task_id, author, description, created_at) " +
+            "VALUES (:id, :taskId, :author, :description, :createdAt)";
+}
@@ -0,0 +1,46 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dao.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.example.taskmanager.repository.TaskRepository.NEXT_CHANGE_SEQ;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * Отмечает задачи пропавшими из списка их авторов (перед удалением задач)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TaskTombstone (taskId, email, changeSeq, removedAt) " +
+            "SELECT t.id, t.creator, " + NEXT_CHANGE_SEQ + ", :removedAt FROM Task t WHERE t.id IN :taskIds AND t.creator IS NOT NULL")
+    int insertForCreators(@Param("taskIds") Collection<Long> taskIds, @Param("removedAt") LocalDateTime removedAt);
+
+    /**
+     * Отмечает задачи пропавшими из списка их текущих исполнителей (перед удалением задач или сменой исполнителя).
+     * Исполнитель, который одновременно автор задачи или останется ее исполнителем, не отмечается
+     *
+     * @param keptAssignee --исполнитель задач после изменения (null, если задачи удаляются или остаются без исполнителя)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TaskTombstone (taskId, email, changeSeq, removedAt) " +
+            "SELECT t.id, t.assignee, " + NEXT_CHANGE_SEQ + ", :removedAt FROM Task t WHERE t.id IN :taskIds " +
+            "AND t.assignee IS NOT NULL AND (t.creator IS NULL OR t.assignee <> t.creator) " +
+            "AND (:keptAssignee IS NULL OR t.assignee <> :keptAssignee)")
+    int insertForAssignees(@Param("taskIds") Collection<Long> taskIds, @Param("keptAssignee") String keptAssignee,
+                           @Param("removedAt") LocalDateTime removedAt);
+
+    /**
+     * Отметки пользователя с номерами изменений от from до upTo включительно в порядке изменения
+     */
+    List<TaskTombstone> findByEmailAndChangeSeqBetweenOrderByChangeSeq(String email, long from, long upTo, Pageable pageable);
+}
@@ -0,0 +1,130 @@
+package com.example.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Декодер JWT, который запоминает успешно проверенные токены до истечения их срока действия.
+ * Клиенты повторяют один и тот же токен в течение нескольких минут, поэтому разбор и проверка подписи
+ * выполняются один раз на токен, а не на каждый запрос. Ключ кэша - SHA-256 токена, сами токены в памяти не хранятся.
+ * Токены без срока действия и токены, не прошедшие проверку, не кэшируются.
+ * <ul>
+ *     <li>{@value #VERIFICATION_METRIC} - время проверки токена делегатом (тег outcome: success, failure);</li>
+ *     <li>cache.gets, cache.size, cache.evictions с тегом cache={@value #CACHE_NAME} - попадания и промахи кэша.</li>
+ * </ul>
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    public static final String VERIFICATION_METRIC = "jwt.verification";
+    public static final String CACHE_NAME = "jwt";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param delegate      --декодер, который разбирает токен и проверяет подпись и claims
+     * @param maximumSize   --максимальное количество токенов в кэше
+     * @param maximumTtl    --максимальное время хранения токена, даже если срок его действия больше
+     * @param meterRegistry --реестр метрик
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTtl, MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, maximumTtl, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTtl, MeterRegistry meterRegistry,
+                      Ticker ticker, Clock clock) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiresAt(maximumTtl, clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.successTimer = verificationTimer("success", meterRegistry);
+        this.failureTimer = verificationTimer("failure", meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return cache.get(hash(token), key -> verify(token));
+    }
+
+    private Jwt verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer timer = failureTimer;
+        try {
+            Jwt jwt = delegate.decode(token);
+            timer = successTimer;
+            return jwt;
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(VERIFICATION_METRIC)
+                .description("Time to parse and verify a JWT that is not in the cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Токен хранится до своего exp, но не дольше maximumTtl. Токен без exp истекает сразу
+     */
+    private record UntilExpiresAt(Duration maximumTtl, Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry.toNanos() : maximumTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.dao.TaskEvent;
+import com.example.taskmanager.dao.TaskEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие об изменении задачи, публикуемое из outbox.
+ * Содержит только факт изменения: актуальное состояние задачи потребитель получает по taskId
+ *
+ * @param id               --возрастающий идентификатор события
+ * @param taskId           --идентификатор задачи
+ * @param creator          --автор задачи в момент изменения
+ * @param assignee         --исполнитель задачи в момент изменения
+ * @param previousAssignee --исполнитель задачи до изменения, если изменение сменило исполнителя, иначе null
+ * @param type             --тип изменения
+ * @param actor            --email пользователя, изменившего задачу
+ * @param occurredAt       --дата и время изменения
+ */
+public record TaskChangeEvent(long id, Long taskId, String creator, String assignee, String previousAssignee,
+                              TaskEventType type, String actor, LocalDateTime occurredAt) {
+
+    public static TaskChangeEvent of(TaskEvent event) {
+        return new TaskChangeEvent(event.getId(), event.getTaskId(), event.getCreator(), event.getAssignee(),
+                event.getPreviousAssignee(), event.getType(), event.getActor(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.dao.Task;
+
+import java.util.List;
+
+/**
+ * Изменения задач пользователя после номера изменения since
+ *
+ * @param changed --созданные или измененные задачи в текущем состоянии (с комментариями)
+ * @param removed --идентификаторы задач, пропавших из списка пользователя
+ * @param cursor  --номер последнего изменения в ответе, передается как since в следующем запросе
+ * @param hasMore --есть ли еще изменения после cursor
+ */
+public record TaskChanges(List<Task> changed, List<Long> removed, long cursor, boolean hasMore) {
+}
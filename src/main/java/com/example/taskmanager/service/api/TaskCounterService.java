@@ -0,0 +1,50 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskSnapshot;
+
+import java.util.Collection;
+
+/**
+ * Счетчики задач пользователей по роли и статусу.
+ * Методы on* вызываются сервисом задач в транзакции изменения и меняют только затронутые счетчики.
+ */
+public interface TaskCounterService {
+
+    /**
+     * Метод возвращает количество задач пользователя по статусам (статусы без задач имеют значение 0)
+     *
+     * @param email --email пользователя
+     */
+    TaskStatsResponse getStats(String email);
+
+    /**
+     * Метод учитывает созданные задачи
+     *
+     * @param tasks --сохраненные задачи
+     */
+    void onCreated(Collection<Task> tasks);
+
+    /**
+     * Метод учитывает изменение исполнителя или статуса задач
+     *
+     * @param before --задачи до изменения
+     * @param after  --те же задачи после изменения
+     */
+    void onChanged(Collection<TaskSnapshot> before, Collection<TaskSnapshot> after);
+
+    /**
+     * Метод учитывает удаленные задачи
+     *
+     * @param tasks --задачи до удаления
+     */
+    void onDeleted(Collection<TaskSnapshot> tasks);
+
+    /**
+     * Метод пересчитывает все счетчики из таблицы задач, исправляя возможное расхождение
+     *
+     * @return количество исправленных счетчиков
+     */
+    int reconcile();
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.dao.TaskEventType;
+
+import java.util.Collection;
+
+/**
+ * Outbox изменений задач: события пишутся в транзакции изменения и публикуются пакетами через {@link TaskEventSink},
+ * чтобы интеграции подписывались на изменения, а не опрашивали список задач.
+ */
+public interface TaskEventService {
+
+    /**
+     * Метод записывает событие для каждой задачи из набора в текущей транзакции
+     *
+     * @param type    --тип изменения
+     * @param taskIds --идентификаторы задач (задачи должны существовать в момент вызова)
+     */
+    void record(TaskEventType type, Collection<Long> taskIds);
+
+    /**
+     * Метод записывает событие для каждой задачи из набора, у которой меняется исполнитель.
+     * Вызывается до UPDATE: текущий исполнитель сохраняется в событии как предыдущий и тоже получает событие
+     *
+     * @param type     --тип изменения
+     * @param taskIds  --идентификаторы задач (задачи должны существовать в момент вызова)
+     * @param assignee --исполнитель задач после изменения
+     */
+    void recordReassignment(TaskEventType type, Collection<Long> taskIds, String assignee);
+
+    /**
+     * Метод публикует пакет самых старых событий и удаляет их из outbox
+     *
+     * @return количество опубликованных событий
+     */
+    int relay();
+}
@@ -0,0 +1,19 @@
+package com.example.taskmanager.service.api;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Получатель событий outbox (внутри процесса, файл, брокер сообщений).
+ * Доставка "как минимум один раз": если метод выбросил исключение, пакет будет отправлен повторно,
+ * поэтому потребители должны быть готовы к повторам и отбрасывать события с уже обработанным id.
+ */
+public interface TaskEventSink {
+
+    /**
+     * Метод публикует пакет событий в порядке возрастания id
+     *
+     * @param events --события
+     */
+    void publish(List<TaskChangeEvent> events) throws IOException;
+}
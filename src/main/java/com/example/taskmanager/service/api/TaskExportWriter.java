@@ -0,0 +1,24 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+
+import java.io.IOException;
+
+/**
+ * Запись выгружаемых задач в выходной поток в конкретном формате (NDJSON, CSV).
+ * Реализации не накапливают задачи в памяти: каждая задача сразу записывается в буфер потока.
+ */
+public interface TaskExportWriter {
+
+    /**
+     * Метод записывает одну задачу
+     *
+     * @param task --задача (список комментариев null, если комментарии не выгружаются)
+     */
+    void write(TaskResponse task) throws IOException;
+
+    /**
+     * Метод отправляет накопленный буфер клиенту, вызывается после каждой порции задач и в конце выгрузки
+     */
+    void flush() throws IOException;
+}
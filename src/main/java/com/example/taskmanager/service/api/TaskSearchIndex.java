@@ -0,0 +1,47 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Полнотекстовый индекс задач (заголовок, описание и комментарии).
+ * Методы index* вызываются сервисом в той же транзакции, что и запись задачи или комментария,
+ * после того как изменения отправлены в базу (flush).
+ */
+public interface TaskSearchIndex {
+
+    /**
+     * Метод обновляет поисковые данные задач по текущим значениям заголовка и описания
+     *
+     * @param taskIds --идентификаторы сохраненных задач
+     */
+    void indexTasks(Collection<Long> taskIds);
+
+    /**
+     * Метод обновляет поисковые данные комментария
+     *
+     * @param commentId --идентификатор сохраненного комментария
+     */
+    void indexComment(Long commentId);
+
+    /**
+     * Метод возвращает задачи пользователя, подходящие под запрос, по убыванию релевантности (при равной - по убыванию id)
+     *
+     * @param email --email пользователя (автора или исполнителя задач)
+     * @param query --поисковый запрос
+     * @param after --позиция последней задачи предыдущего среза или null для первого среза
+     * @param limit --максимальное количество результатов
+     */
+    List<Hit> search(String email, String query, RankedCursor after, int limit);
+
+    /**
+     * Найденная задача
+     *
+     * @param taskId --идентификатор задачи
+     * @param rank   --релевантность задачи запросу
+     */
+    record Hit(Long taskId, float rank) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.taskmanager.service.api;
+
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
+
+/**
+ * Задача, найденная полнотекстовым поиском
+ *
+ * @param task --задача с загруженными комментариями
+ * @param rank --релевантность задачи запросу
+ */
+public record TaskSearchResult(Task task, float rank) {
+
+    /**
+     * Метод возвращает позицию задачи в выдаче для курсора следующего среза
+     */
+    public RankedCursor toCursor() {
+        return new RankedCursor(rank, task.getId());
+    }
+}
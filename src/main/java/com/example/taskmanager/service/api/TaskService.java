@@ -1,10 +1,23 @@
 package com.example.taskmanager.service.api;
 
+import com.example.taskmanager.controller.dto.BulkTaskResult;
+import com.example.taskmanager.controller.dto.TaskFilter;
 import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
+import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Status;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskVersion;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Интерфейс сервисного слоя приложения
@@ -19,6 +32,23 @@ public interface TaskService {
      */
     Task getTaskById(Long id);
 
+    /**
+     * Метод находит задачу по ее id и возвращает ее в виде dto для ответа клиенту.
+     * Результат кэшируется и вытесняется при любом изменении задачи
+     *
+     * @param id -- идентификатор задачи
+     * @return dto задачи со всеми комментариями
+     */
+    TaskResponse getTaskResponseById(Long id);
+
+    /**
+     * Метод возвращает текущую версию задачи, не загружая саму задачу
+     *
+     * @param id -- идентификатор задачи
+     * @return версия задачи
+     */
+    long getTaskVersion(Long id);
+
     /**
      * Метод создает новую задачу по переданному объекту TaskRequest
      *
@@ -27,14 +57,23 @@ public interface TaskService {
      */
     Task createTask(TaskRequest taskRequest);
 
+    /**
+     * Метод создает пакет задач одной транзакцией, вставки группируются в JDBC batch
+     *
+     * @param taskRequests -- экземпляры dto задач
+     * @return созданные задачи в порядке запросов
+     */
+    List<Task> createTasks(List<TaskRequest> taskRequests);
+
     /**
      * Метод редактирует уже существующую задачу по ее id и переданному объекту TaskRequest
      *
-     * @param id          --идентификатор задачи
-     * @param taskRequest - экземпляр dto задачи
+     * @param id              --идентификатор задачи
+     * @param taskRequest     - экземпляр dto задачи
+     * @param expectedVersion --версия задачи, которую видел клиент (null, если проверка не нужна)
      * @return обновленная задача
      */
-    Task updateTask(Long id, TaskRequest taskRequest);
+    Task updateTask(Long id, TaskRequest taskRequest, Long expectedVersion);
 
     /**
      * Метод удаляет задачу по ее id
@@ -46,11 +85,12 @@ public interface TaskService {
     /**
      * Метод позволяет менять статус задачи по ее id и переданному новому статусу
      *
-     * @param id     --идентификатор задачи
-     * @param status --новый статус задачи
+     * @param id              --идентификатор задачи
+     * @param status          --новый статус задачи
+     * @param expectedVersion --версия задачи, которую видел клиент (null, если проверка не нужна)
      * @return обновленная задача
      */
-    Task changeStatus(Long id, Status status);
+    Task changeStatus(Long id, Status status, Long expectedVersion);
 
     /**
      * Метод позволяет назначть исполнителя задачи по ее id и преданному исполнителю в виде строки (email)
@@ -62,13 +102,117 @@ public interface TaskService {
     Task setAssignee(Long id, String assignee);
 
     /**
-     * Метод возвращает страницу со всеми задачами пользователя
+     * Метод меняет статус набора задач одним запросом. Изменять статус может автор или исполнитель задачи,
+     * задачи без прав или не найденные пропускаются, остальные изменяются
+     *
+     * @param ids    --идентификаторы задач
+     * @param status --новый статус
+     * @return результат для каждого уникального идентификатора в порядке запроса
+     */
+    List<BulkTaskResult> changeStatuses(Collection<Long> ids, Status status);
+
+    /**
+     * Метод назначает исполнителя набору задач одним запросом. Назначать исполнителя может только автор задачи,
+     * задачи без прав или не найденные пропускаются, остальные изменяются
+     *
+     * @param ids      --идентификаторы задач
+     * @param assignee --email исполнителя
+     * @return результат для каждого уникального идентификатора в порядке запроса
+     */
+    List<BulkTaskResult> setAssignees(Collection<Long> ids, String assignee);
+
+    /**
+     * Метод удаляет набор задач вместе с комментариями, не загружая их. Удалять задачу может только ее автор,
+     * задачи без прав или не найденные пропускаются
+     *
+     * @param ids --идентификаторы задач
+     * @return результат для каждого уникального идентификатора в порядке запроса
+     */
+    List<BulkTaskResult> deleteTasks(Collection<Long> ids);
+
+    /**
+     * Метод возвращает идентификаторы и версии страницы задач пользователя, отфильтрованных и отсортированных
+     * на стороне базы данных, без загрузки самих задач и их комментариев: этого достаточно, чтобы проверить ETag
+     * страницы. Сами задачи загружает {@link #getTasks(Page)}
+     *
+     * @param email    --email пользователя, чьи задачи нужно отобразить
+     * @param filter   --фильтр по роли пользователя, статусу, приоритету и дате создания
+     * @param pageable --информация для пагинации и сортировки (поля из {@link com.example.taskmanager.controller.dto.TaskSortField})
+     * @return страница с идентификаторами и версиями задач
+     */
+    Page<TaskVersion> getTaskVersionsByUser(String email, TaskFilter filter, Pageable pageable);
+
+    /**
+     * Метод загружает задачи страницы, полученной из {@link #getTaskVersionsByUser(String, TaskFilter, Pageable)},
+     * вместе с комментариями, сохраняя порядок и общее количество задач. Задачи, удаленные после чтения версий,
+     * в страницу не попадают
+     *
+     * @param versions --идентификаторы и версии задач страницы
+     * @return страница с задачами
+     */
+    Page<Task> getTasks(Page<TaskVersion> versions);
+
+    /**
+     * Метод возвращает срез задач пользователя, следующих за переданным курсором (keyset-пагинация).
+     * В отличие от {@link #getTaskVersionsByUser(String, TaskFilter, Pageable)} не выполняет OFFSET и запрос общего количества
+     *
+     * @param email    --email пользователя, чьи задачи нужно отобразить
+     * @param cursorId --идентификатор последней задачи предыдущего среза или null для первого среза
+     * @param size     --количество задач в срезе
+     * @return срез задач пользователя, упорядоченный по убыванию id
+     */
+    Slice<Task> getAllTasksByUserAfter(String email, Long cursorId, int size);
+
+    /**
+     * Метод выполняет полнотекстовый поиск по заголовкам, описаниям и комментариям задач текущего пользователя.
+     * Результаты упорядочены по убыванию релевантности, следующий срез запрашивается курсором последнего результата
+     *
+     * @param query --поисковый запрос
+     * @param after --позиция последней задачи предыдущего среза или null для первого среза
+     * @param size  --количество задач в срезе
+     * @return срез найденных задач с загруженными комментариями
+     */
+    Slice<TaskSearchResult> searchTasks(String query, RankedCursor after, int size);
+
+    /**
+     * Метод возвращает количество задач текущего пользователя по статусам (созданных им и назначенных на него).
+     * Значения читаются из счетчиков, а не подсчитываются по таблице задач
+     *
+     * @return количество задач по статусам
+     */
+    TaskStatsResponse getTaskStats();
+
+    /**
+     * Метод возвращает изменения задач текущего пользователя после номера изменения since в порядке изменения:
+     * задачи, которые он создал или на которые назначен, и задачи, пропавшие из его списка.
+     * Изменение попадает в ответ, когда завершены все транзакции, получившие меньшие номера изменений
+     *
+     * @param since --номер изменения из предыдущего ответа (0 для первой синхронизации)
+     * @param size  --максимальное количество изменений в ответе
+     * @return изменения и номер изменения для следующего запроса
+     */
+    TaskChanges getTaskChanges(long since, int size);
+
+    /**
+     * Метод возвращает страницу с краткой информацией о задачах пользователя (без описаний и комментариев)
      *
      * @param email    --email пользователя, чьи задачи нужно отобразить
      * @param pageable --информация для пагинации
-     * @return страница со всеми задачами пользователя
+     * @return страница с краткой информацией о задачах пользователя
      */
-    Page<Task> getAllTasksByUser(String email, Pageable pageable);
+    Page<TaskSummaryResponse> getTaskSummariesByUser(String email, Pageable pageable);
+
+    /**
+     * Метод выгружает все задачи пользователя в порядке возрастания id, читая их из базы порциями, каждая
+     * следующая - с последнего выгруженного id. Порции читаются в одном снимке данных (REPEATABLE READ).
+     * Память не зависит от количества задач: после записи каждой порции задачи удаляются из контекста персистентности.
+     *
+     * @param email        --email пользователя, чьи задачи нужно выгрузить
+     * @param withComments --выгружать ли комментарии задач
+     * @param writer       --запись задач в нужном формате
+     * @return количество выгруженных задач
+     */
+    long exportTasksByUser(String email, boolean withComments, TaskExportWriter writer) throws IOException;
 
     /**
      * Метод добавляет комментарий к определенной задаче
@@ -78,4 +222,13 @@ public interface TaskService {
      * @return обновленная задача с добавленным комментарием
      */
     Task addComment(Long id, String comment);
+
+    /**
+     * Метод добавляет комментарий к определенной задаче, не загружая саму задачу и ее комментарии
+     *
+     * @param id      --идентификатор задачи
+     * @param comment --body комментария
+     * @return добавленный комментарий
+     */
+    Comment appendComment(Long id, String comment);
 }
@@ -0,0 +1,33 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Передает события подписчикам потока изменений этого экземпляра приложения после commit пакета outbox.
+ * Подписчики других экземпляров событий не получают, поэтому используется, только если база не поддерживает
+ * рассылку уведомлений ({@link PostgresTaskEventChannel})
+ */
+@RequiredArgsConstructor
+public class AfterCommitTaskEventSink implements TaskEventSink {
+    private final TaskEventBroadcaster broadcaster;
+
+    @Override
+    public void publish(List<TaskChangeEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            events.forEach(broadcaster::onTaskChanged);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(broadcaster::onTaskChanged);
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.dao.Comment;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Класс для маппинга объкета типа Comment из Entity слоя в объект типа TaskResponse.Comment (dto) для ответа клиенту
+ */
+@Component
+public class CommentResponseMapper implements Function<Comment, TaskResponse.Comment> {
+    /**
+     * Метод применяет функцию для маппинга объкета типа Comment из Entity слоя в объект типа TaskResponse.Comment
+     * @param comment the function argument
+     * @return объект типа TaskResponse.Comment
+     */
+    @Override
+    public TaskResponse.Comment apply(Comment comment) {
+        return new TaskResponse.Comment()
+                .setAuthor(comment.getAuthor())
+                .setBody(comment.getDescription())
+                .setId(comment.getId())
+                .setCreatedAt(comment.getCreatedAt());
+    }
+}
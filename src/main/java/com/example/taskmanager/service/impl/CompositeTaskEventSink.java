@@ -0,0 +1,24 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventSink;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Передает пакет событий каждому получателю по очереди. Исключение любого получателя приводит к повторной
+ * отправке пакета всем получателям, что допускает доставка "как минимум один раз"
+ */
+@RequiredArgsConstructor
+public class CompositeTaskEventSink implements TaskEventSink {
+    private final List<TaskEventSink> sinks;
+
+    @Override
+    public void publish(List<TaskChangeEvent> events) throws IOException {
+        for (TaskEventSink sink : sinks) {
+            sink.publish(events);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.service.api.TaskExportWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Выгрузка задач в формате CSV (RFC 4180). Если выгружаются комментарии, задача занимает по строке
+ * на каждый комментарий (поля задачи повторяются), задача без комментариев - одну строку с пустыми полями комментария.
+ */
+public class CsvTaskExportWriter implements TaskExportWriter {
+    private static final String TASK_COLUMNS = "id,header,description,status,priority,creator,assignee,created_at,version";
+    private static final String COMMENT_COLUMNS = ",comment_id,comment_author,comment_body,comment_created_at";
+
+    private final Writer writer;
+    private final boolean withComments;
+    private boolean headerWritten;
+
+    public CsvTaskExportWriter(OutputStream out, boolean withComments) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.withComments = withComments;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(TaskResponse task) throws IOException {
+        writeHeaderIfNeeded();
+        if (!withComments || task.getComments() == null || task.getComments().isEmpty()) {
+            writeTask(task);
+            if (withComments) {
+                writer.write(",,,,");
+            }
+            writer.write("\r\n");
+            return;
+        }
+        for (TaskResponse.Comment comment : task.getComments()) {
+            writeTask(task);
+            writer.write(',');
+            writeField(comment.getId());
+            writer.write(',');
+            writeField(comment.getAuthor());
+            writer.write(',');
+            writeField(comment.getBody());
+            writer.write(',');
+            writeField(comment.getCreatedAt());
+            writer.write("\r\n");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException {
+        writeHeaderIfNeeded();
+        writer.flush();
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+        if (!headerWritten) {
+            writer.write(withComments ? TASK_COLUMNS + COMMENT_COLUMNS : TASK_COLUMNS);
+            writer.write("\r\n");
+            headerWritten = true;
+        }
+    }
+
+    private void writeTask(TaskResponse task) throws IOException {
+        writeField(task.getId());
+        writer.write(',');
+        writeField(task.getHeader());
+        writer.write(',');
+        writeField(task.getDescription());
+        writer.write(',');
+        writeField(task.getStatus());
+        writer.write(',');
+        writeField(task.getPriority());
+        writer.write(',');
+        writeField(task.getCreator());
+        writer.write(',');
+        writeField(task.getAssignee());
+        writer.write(',');
+        writeField(task.getCreatedAt());
+        writer.write(',');
+        writeField(task.getVersion());
+    }
+
+    /**
+     * Метод записывает значение поля, заключая его в кавычки, если оно содержит разделитель, кавычку или перевод строки
+     */
+    private void writeField(Object value) throws IOException {
+        String field = Objects.toString(value, "");
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Дописывает события в файл NDJSON (одно событие JSON на строку), пакет записывается одним открытием файла
+ */
+@RequiredArgsConstructor
+public class FileTaskEventSink implements TaskEventSink {
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<TaskChangeEvent> events) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (TaskChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Публикует события как события приложения: подписчики объявляют {@code @EventListener(TaskChangeEvent.class)}.
+ * Слушатели вызываются синхронно в транзакции публикации, исключение слушателя приводит к повторной отправке пакета.
+ */
+@RequiredArgsConstructor
+public class InProcessTaskEventSink implements TaskEventSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<TaskChangeEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskSearchIndex;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поиск подстрокой (LIKE) для баз данных без полнотекстового поиска (H2 в тестах и локальной разработке).
+ * Поисковых колонок нет, поэтому обновлять при записи нечего; запрос читает все задачи пользователя.
+ * Релевантность: 3 - совпадение в заголовке, 2 - в описании, 1 - в комментарии (суммируются).
+ */
+@RequiredArgsConstructor
+public class LikeTaskSearchIndex implements TaskSearchIndex {
+    private static final String SEARCH = """
+            SELECT r.task_id, r.rank
+            FROM (SELECT t.id AS task_id,
+                         CAST(CASE WHEN lower(t.header) LIKE :pattern ESCAPE '\\' THEN 3 ELSE 0 END
+                              + CASE WHEN lower(t.description) LIKE :pattern ESCAPE '\\' THEN 2 ELSE 0 END
+                              + CASE WHEN EXISTS (SELECT 1 FROM comment c WHERE c.task_id = t.id
+                                                  AND lower(c.description) LIKE :pattern ESCAPE '\\') THEN 1 ELSE 0 END
+                              AS real) AS rank
+                  FROM task t
+                  WHERE t.id IN (SELECT c.id FROM task c WHERE c.creator = :email
+                                 UNION SELECT a.id FROM task a WHERE a.assignee = :email)) r
+            WHERE r.rank > 0 AND (r.rank < :rank OR (r.rank = :rank AND r.task_id < :id))
+            ORDER BY r.rank DESC, r.task_id DESC""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void indexTasks(Collection<Long> taskIds) {
+    }
+
+    @Override
+    public void indexComment(Long commentId) {
+    }
+
+    @Override
+    public List<Hit> search(String email, String query, RankedCursor after, int limit) {
+        String pattern = "%" + query.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return NativeSearchQueries.hits(entityManager.createNativeQuery(SEARCH).setParameter("pattern", pattern),
+                email, after, limit);
+    }
+}
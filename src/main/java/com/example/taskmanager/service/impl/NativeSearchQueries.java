@@ -0,0 +1,29 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskSearchIndex.Hit;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
+import jakarta.persistence.Query;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+/**
+ * Общая часть поисковых запросов: параметры пользователя и курсора, ограничение среза и чтение результата.
+ * Запрос должен возвращать (task_id, rank) и использовать параметры :email, :rank и :id.
+ */
+@UtilityClass
+class NativeSearchQueries {
+
+    static List<Hit> hits(Query query, String email, RankedCursor after, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query
+                .setParameter("email", email)
+                .setParameter("rank", after == null ? Float.MAX_VALUE : after.rank())
+                .setParameter("id", after == null ? Long.MAX_VALUE : after.id())
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new Hit(((Number) row[0]).longValue(), ((Number) row[1]).floatValue()))
+                .toList();
+    }
+}
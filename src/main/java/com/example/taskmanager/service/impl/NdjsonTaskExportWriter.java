@@ -0,0 +1,40 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.service.api.TaskExportWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Выгрузка задач в формате NDJSON: каждая задача - отдельный JSON объект в одной строке.
+ */
+public class NdjsonTaskExportWriter implements TaskExportWriter {
+    private final OutputStream out;
+    private final ObjectWriter writer;
+
+    public NdjsonTaskExportWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.writer = objectMapper.writerFor(TaskResponse.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(TaskResponse task) throws IOException {
+        writer.writeValue(out, task);
+        out.write('\n');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventSink;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Рассылка событий outbox подписчикам потока изменений всех экземпляров приложения через LISTEN/NOTIFY PostgreSQL.
+ * Пакет событий отправляется NOTIFY в транзакции публикации outbox, поэтому уведомления доставляются только
+ * после ее commit и в порядке событий. Каждый экземпляр слушает канал на отдельном соединении и передает
+ * события своему {@link TaskEventBroadcaster}. Уведомления, отправленные, пока соединение было потеряно,
+ * не восстановить, поэтому после переподключения подписчики получают событие overflow и перечитывают задачи.
+ */
+@Slf4j
+public class PostgresTaskEventChannel implements TaskEventSink, SmartLifecycle {
+    public static final String CHANNEL = "task_events";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskEventBroadcaster broadcaster;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresTaskEventChannel(DataSource dataSource, ObjectMapper objectMapper, TaskEventBroadcaster broadcaster) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Метод отправляет пакет одним запросом в текущей транзакции (транзакции публикации outbox)
+     *
+     * @param events --события
+     */
+    @Override
+    public void publish(List<TaskChangeEvent> events) throws JsonProcessingException {
+        String[] payloads = new String[events.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = objectMapper.writeValueAsString(events.get(i));
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, payload) FROM unnest(?) WITH ORDINALITY AS p(payload, n) ORDER BY n",
+                statement -> {
+                    statement.setString(1, CHANNEL);
+                    statement.setArray(2, statement.getConnection().createArrayOf("text", payloads));
+                }, resultSet -> {
+                });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "task-stream-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                if (reconnected) {
+                    broadcaster.invalidate();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            broadcaster.onTaskChanged(objectMapper.readValue(notification.getParameter(), TaskChangeEvent.class));
+                        }
+                    }
+                }
+            } catch (SQLException | JsonProcessingException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Task stream listener lost its connection, reconnecting: {}", e.getMessage());
+                reconnected = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskSearchIndex;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск PostgreSQL: колонки search_vector (tsvector) с GIN индексами в таблицах task и comment
+ * (миграция db/vendor/postgresql/V6). Заголовок имеет вес A, описание - B, комментарии - C, поэтому совпадение
+ * в заголовке поднимает задачу выше совпадения в комментарии. Используется конфигурация simple без стемминга,
+ * так как задачи пишутся на разных языках.
+ */
+@RequiredArgsConstructor
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+    public static final String TASK_VECTOR = "setweight(to_tsvector('simple', coalesce(header, '')), 'A')"
+            + " || setweight(to_tsvector('simple', coalesce(description, '')), 'B')";
+    public static final String COMMENT_VECTOR = "setweight(to_tsvector('simple', coalesce(description, '')), 'C')";
+
+    private static final String SEARCH = """
+            SELECT m.task_id, max(m.rank) AS rank
+            FROM (SELECT t.id AS task_id, ts_rank(t.search_vector, q.query) AS rank
+                  FROM task t, websearch_to_tsquery('simple', :query) q(query)
+                  WHERE t.search_vector @@ q.query
+                  UNION ALL
+                  SELECT c.task_id, ts_rank(c.search_vector, q.query)
+                  FROM comment c, websearch_to_tsquery('simple', :query) q(query)
+                  WHERE c.search_vector @@ q.query) m
+            WHERE m.task_id IN (SELECT c.id FROM task c WHERE c.creator = :email
+                                UNION SELECT a.id FROM task a WHERE a.assignee = :email)
+            GROUP BY m.task_id
+            HAVING max(m.rank) < :rank OR (max(m.rank) = :rank AND m.task_id < :id)
+            ORDER BY rank DESC, m.task_id DESC""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void indexTasks(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            entityManager.createNativeQuery("UPDATE task SET search_vector = " + TASK_VECTOR + " WHERE id IN (:ids)")
+                    .setParameter("ids", taskIds)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void indexComment(Long commentId) {
+        entityManager.createNativeQuery("UPDATE comment SET search_vector = " + COMMENT_VECTOR + " WHERE id = :id")
+                .setParameter("id", commentId)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<Hit> search(String email, String query, RankedCursor after, int limit) {
+        return NativeSearchQueries.hits(entityManager.createNativeQuery(SEARCH).setParameter("query", query),
+                email, after, limit);
+    }
+}
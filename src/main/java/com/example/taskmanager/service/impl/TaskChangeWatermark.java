@@ -0,0 +1,78 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.repository.TaskRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Граница ленты изменений GET /api/tasks/changes. Номер из task_change_seq задача получает при INSERT или UPDATE
+ * внутри транзакции, а виден он после ее commit, поэтому транзакция с большим номером может завершиться раньше
+ * транзакции с меньшим. Курсор, выданный по большему номеру, навсегда пропустил бы меньший. Поэтому раз в
+ * sample-interval запоминается следующее значение последовательности: все меньшие номера к этому моменту уже
+ * выданы, а получившие их транзакции начались раньше. Пишущие транзакции имеют таймаут {@link #WRITE_TIMEOUT},
+ * и {@link com.example.taskmanager.configuration.CommitDeadlineTransactionManager} не дает им начать commit
+ * после его истечения. Не ограничен только сам commit, поэтому lag больше таймаута с запасом на commit
+ * (см. TaskChangesConfig). Через lag такие транзакции завершены, и номера ниже запомненного значения можно
+ * отдавать клиентам. Последовательность общая для всех экземпляров приложения, поэтому граница верна и при
+ * нескольких экземплярах с одинаковым таймаутом записи.
+ */
+public class TaskChangeWatermark {
+    /**
+     * Таймаут транзакций, которые присваивают задачам номера изменений, в секундах
+     */
+    public static final String WRITE_TIMEOUT = "${app.task-changes.write-timeout-seconds:10}";
+
+    private final TaskRepository taskRepository;
+    private final Duration lag;
+    private final Clock clock;
+    private final Deque<Sample> pending = new ArrayDeque<>();
+    private Sample safe;
+
+    public TaskChangeWatermark(TaskRepository taskRepository, Duration lag, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.lag = lag;
+        this.clock = clock;
+    }
+
+    /**
+     * Метод запоминает следующее значение последовательности номеров изменений. Время берется после получения
+     * значения, чтобы все меньшие номера гарантированно были выданы раньше
+     */
+    @Scheduled(fixedDelayString = "${app.task-changes.sample-interval:PT1S}")
+    public void sample() {
+        long next = taskRepository.nextChangeSeq();
+        Instant at = clock.instant();
+        synchronized (this) {
+            pending.addLast(new Sample(at, next));
+            promote(at);
+        }
+    }
+
+    /**
+     * Метод возвращает наибольший номер изменения, до которого включительно все транзакции уже завершены
+     *
+     * @return номер изменения или 0, если с запуска прошло меньше lag
+     */
+    public synchronized long upTo() {
+        promote(clock.instant());
+        return safe == null ? 0 : safe.next() - 1;
+    }
+
+    /**
+     * Метод делает границей самый новый образец, взятый не позже чем lag назад
+     */
+    private void promote(Instant now) {
+        Instant boundary = now.minus(lag);
+        while (!pending.isEmpty() && !pending.peekFirst().at().isAfter(boundary)) {
+            safe = pending.removeFirst();
+        }
+    }
+
+    private record Sample(Instant at, long next) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskCounter;
+import com.example.taskmanager.dao.TaskCounterId;
+import com.example.taskmanager.dao.TaskRole;
+import com.example.taskmanager.dao.TaskSnapshot;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import com.example.taskmanager.service.api.TaskCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Счетчики задач в таблице task_counter.
+ * Изменения задач переводятся в приращения, одинаковые ключи складываются, нулевые приращения не пишутся,
+ * поэтому, например, пакет из 1000 задач одного автора и статуса обновляет один счетчик одним запросом.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskCounterServiceImpl implements TaskCounterService {
+    private final TaskCounterRepository taskCounterRepository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats(String email) {
+        Map<Status, Long> created = zeroCounts();
+        Map<Status, Long> assigned = zeroCounts();
+        for (TaskCounter counter : taskCounterRepository.findByIdEmail(email)) {
+            Map<Status, Long> counts = counter.getId().getRole() == TaskRole.CREATOR ? created : assigned;
+            counts.put(counter.getId().getStatus(), counter.getTaskCount());
+        }
+        return new TaskStatsResponse().setCreated(created).setAssigned(assigned);
+    }
+
+    private static Map<Status, Long> zeroCounts() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Collection<Task> tasks) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        tasks.forEach(task -> add(deltas, TaskSnapshot.of(task), 1));
+        apply(deltas);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onChanged(Collection<TaskSnapshot> before, Collection<TaskSnapshot> after) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        before.forEach(task -> add(deltas, task, -1));
+        after.forEach(task -> add(deltas, task, 1));
+        apply(deltas);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeleted(Collection<TaskSnapshot> tasks) {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        tasks.forEach(task -> add(deltas, task, -1));
+        apply(deltas);
+    }
+
+    private static void add(Map<TaskCounterId, Long> deltas, TaskSnapshot task, long delta) {
+        if (task.status() == null) {
+            return;
+        }
+        if (task.creator() != null) {
+            deltas.merge(new TaskCounterId(task.creator(), TaskRole.CREATOR, task.status()), delta, Long::sum);
+        }
+        if (task.assignee() != null) {
+            deltas.merge(new TaskCounterId(task.assignee(), TaskRole.ASSIGNEE, task.status()), delta, Long::sum);
+        }
+    }
+
+    private void apply(Map<TaskCounterId, Long> deltas) {
+        List<Map.Entry<TaskCounterId, Long>> changes = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(TaskCounterId.LOCK_ORDER))
+                .toList();
+        for (Map.Entry<TaskCounterId, Long> change : changes) {
+            TaskCounterId id = change.getKey();
+            taskCounterRepository.addDelta(id.getEmail(), id.getRole().ordinal(), id.getStatus().ordinal(), change.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Расхождение считается одним запросом без блокировок, затем исправляются только отличающиеся счетчики
+     * приращением, а не присваиванием: изменения задач, закоммиченные после чтения расхождения, уже прибавили
+     * к счетчикам свои приращения и не теряются. Запись задач блокируется только на время этих нескольких UPDATE.
+     * Запускается по расписанию из {@link com.example.taskmanager.configuration.SchedulingConfig}.
+     */
+    @Override
+    @Transactional
+    public int reconcile() {
+        Map<TaskCounterId, Long> deltas = new HashMap<>();
+        for (TaskCounterRepository.CounterDrift drift : taskCounterRepository.findDrift()) {
+            deltas.put(new TaskCounterId(drift.getEmail(), TaskRole.values()[drift.getRole()], Status.values()[drift.getStatus()]),
+                    drift.getDelta());
+        }
+        apply(deltas);
+        log.info("Task counters reconciled: {} counters corrected", deltas.size());
+        return deltas.size();
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Рассылка событий об изменении задач подписчикам SSE: автору и исполнителю задачи.
+ * Поток публикации outbox только кладет событие в ограниченный буфер каждого подписчика, отправкой занимается
+ * отдельный поток, поэтому медленный клиент не задерживает публикацию и других подписчиков. При переполнении
+ * буфера отбрасываются самые старые события, а клиент получает событие overflow с их количеством и должен
+ * перечитать свои задачи.
+ * Отправкой заняты виртуальные потоки (Java 21+) или ограниченный пул потоков; подписчик, отправка которому
+ * заблокирована дольше sendTimeout (клиент не читает ответ), отключается, чтобы не занимать поток отправки.
+ */
+@Slf4j
+public class TaskEventBroadcaster implements DisposableBean {
+    public static final String SUBSCRIBERS_METRIC = "task.stream.subscribers";
+    public static final String DROPPED_METRIC = "task.stream.dropped";
+    public static final String STALLED_METRIC = "task.stream.stalled";
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final Duration sendTimeout;
+    private final Executor executor;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Clock clock;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public TaskEventBroadcaster(int bufferSize, Duration timeout, int senders, Duration sendTimeout, MeterRegistry meterRegistry) {
+        this(bufferSize, sendTimeout, meterRegistry, senderExecutor(senders), () -> new SseEmitter(timeout.toMillis()),
+                Clock.systemUTC());
+    }
+
+    TaskEventBroadcaster(int bufferSize, Duration sendTimeout, MeterRegistry meterRegistry, Executor executor,
+                         Supplier<SseEmitter> emitterFactory, Clock clock) {
+        this.bufferSize = bufferSize;
+        this.sendTimeout = sendTimeout;
+        this.executor = executor;
+        this.emitterFactory = emitterFactory;
+        this.clock = clock;
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Task change events dropped because a stream subscriber was too slow")
+                .register(meterRegistry);
+        this.stalled = Counter.builder(STALLED_METRIC)
+                .description("Task change streams closed because a send was blocked longer than the send timeout")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, this, TaskEventBroadcaster::subscriberCount)
+                .description("Open task change streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Метод открывает поток изменений задач пользователя
+     *
+     * @param email --email пользователя
+     * @return emitter, который нужно вернуть из контроллера
+     */
+    public SseEmitter subscribe(String email) {
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(email, emitter);
+        subscribers.computeIfAbsent(email, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Метод получает события после commit пакета outbox (см. {@link AfterCommitTaskEventSink},
+     * {@link PostgresTaskEventChannel}) и отправляет их автору, исполнителю и исполнителю, с которого задача снята
+     *
+     * @param event --событие об изменении задачи
+     */
+    public void onTaskChanged(TaskChangeEvent event) {
+        dispatch(event.creator(), event);
+        if (!Objects.equals(event.creator(), event.assignee())) {
+            dispatch(event.assignee(), event);
+        }
+        if (!Objects.equals(event.previousAssignee(), event.creator()) && !Objects.equals(event.previousAssignee(), event.assignee())) {
+            dispatch(event.previousAssignee(), event);
+        }
+    }
+
+    /**
+     * Метод сообщает всем подписчикам событием overflow, что часть событий могла быть потеряна
+     * (например, пока не было соединения с каналом уведомлений), и клиентам нужно перечитать свои задачи
+     */
+    public void invalidate() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::invalidate));
+    }
+
+    /**
+     * Метод периодически отправляет комментарий всем подписчикам: соединение не закрывается прокси
+     * по простою, а отключившиеся клиенты обнаруживаются и удаляются
+     */
+    @Scheduled(fixedDelayString = "${app.task-stream.heartbeat:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::requestHeartbeat));
+    }
+
+    /**
+     * Метод отключает подписчиков, отправка которым заблокирована дольше sendTimeout: подписчик перестает получать
+     * события, а поток отправки прерывается. Если прерывание не снимает блокировку записи, поток освобождается
+     * по таймауту записи сервлет-контейнера
+     */
+    @Scheduled(fixedDelayString = "${app.task-stream.stall-check:PT5S}")
+    public void evictStalled() {
+        long deadline = clock.millis() - sendTimeout.toMillis();
+        subscribers.values().forEach(set -> set.stream()
+                .filter(subscriber -> subscriber.isSendingSince(deadline))
+                .toList()
+                .forEach(subscriber -> {
+                    log.debug("Task stream of {} is stalled for more than {}, closing", subscriber.email, sendTimeout);
+                    stalled.increment();
+                    remove(subscriber);
+                    subscriber.evict();
+                }));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void dispatch(String email, TaskChangeEvent event) {
+        if (email == null) {
+            return;
+        }
+        Set<Subscriber> recipients = subscribers.get(email);
+        if (recipients != null) {
+            recipients.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.email, (email, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Виртуальные потоки, если JVM их поддерживает, иначе не более senders потоков платформы. Очередь пула
+     * ограничена числом подписчиков: на каждого подписчика приходится не более одной задачи отправки
+     */
+    private static Executor senderExecutor(int senders) {
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-stream-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-stream-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(senders, threadFactory);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Подписчик с буфером событий. Отправкой занимается не более одной задачи executor одновременно (флаг draining),
+     * поэтому события уходят клиенту по порядку.
+     */
+    private final class Subscriber {
+        private final String email;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<TaskChangeEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong droppedSinceLastSend = new AtomicLong();
+        private final AtomicBoolean heartbeatRequested = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicReference<Thread> sender = new AtomicReference<>();
+        private volatile long sendingSince;
+        private volatile boolean evicted;
+
+        private Subscriber(String email, SseEmitter emitter) {
+            this.email = email;
+            this.emitter = emitter;
+        }
+
+        void offer(TaskChangeEvent event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    droppedSinceLastSend.incrementAndGet();
+                    dropped.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        void invalidate() {
+            droppedSinceLastSend.incrementAndGet();
+            scheduleDrain();
+        }
+
+        void requestHeartbeat() {
+            heartbeatRequested.set(true);
+            scheduleDrain();
+        }
+
+        boolean isSendingSince(long deadline) {
+            return sender.get() != null && sendingSince < deadline;
+        }
+
+        void evict() {
+            evicted = true;
+            Thread thread = sender.get();
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!evicted && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!evicted) {
+                    long lost = droppedSinceLastSend.getAndSet(0);
+                    if (lost > 0) {
+                        send(SseEmitter.event().name("overflow").data(Map.of("dropped", lost)));
+                    }
+                    TaskChangeEvent event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    send(SseEmitter.event().id(String.valueOf(event.id())).name("task").data(event));
+                }
+                if (!evicted && heartbeatRequested.getAndSet(false)) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Task stream of {} closed: {}", email, e.getMessage());
+                remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (evicted) {
+                buffer.clear();
+                emitter.complete();
+                return;
+            }
+            if (!buffer.isEmpty() || droppedSinceLastSend.get() > 0 || heartbeatRequested.get()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = clock.millis();
+            sender.set(Thread.currentThread());
+            try {
+                emitter.send(event);
+            } finally {
+                sender.set(null);
+            }
+        }
+    }
+}
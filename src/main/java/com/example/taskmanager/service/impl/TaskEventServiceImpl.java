@@ -0,0 +1,84 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.configuration.OutboxProperties;
+import com.example.taskmanager.dao.TaskEvent;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.repository.TaskEventRepository;
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.example.taskmanager.service.api.TaskEventService;
+import com.example.taskmanager.service.api.TaskEventSink;
+import com.example.taskmanager.utils.UserUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox в таблице task_event.
+ * Запись события - один INSERT ... SELECT на изменение (в том числе пакетное), публикация - пакетами не более
+ * app.outbox.batch-size событий: пакет читается с блокировкой, отправляется получателю и удаляется в одной транзакции.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskEventServiceImpl implements TaskEventService {
+    private final TaskEventRepository taskEventRepository;
+    private final TaskEventSink taskEventSink;
+    private final OutboxProperties properties;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TaskEventType type, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        String actor = UserUtils.getCurrentUserEmail().orElse(null);
+        taskEventRepository.insertForTasks(taskIds, type.ordinal(), actor, LocalDateTime.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReassignment(TaskEventType type, Collection<Long> taskIds, String assignee) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        String actor = UserUtils.getCurrentUserEmail().orElse(null);
+        taskEventRepository.insertReassignForTasks(taskIds, assignee, type.ordinal(), actor, LocalDateTime.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.outbox.relay-delay:PT1S}")
+    public int relay() {
+        List<TaskEvent> batch = taskEventRepository.lockOldest(PageRequest.ofSize(properties.batchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            taskEventSink.publish(batch.stream().map(TaskChangeEvent::of).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        taskEventRepository.deleteByIds(batch.stream().map(TaskEvent::getId).toList());
+        log.debug("Published {} task events", batch.size());
+        return batch.size();
+    }
+}
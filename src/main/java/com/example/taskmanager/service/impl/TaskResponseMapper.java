@@ -2,6 +2,7 @@ package com.example.taskmanager.service.impl;
 
 import com.example.taskmanager.controller.dto.TaskResponse;
 import com.example.taskmanager.dao.Task;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.function.Function;
@@ -10,7 +11,10 @@ import java.util.function.Function;
  * Класс для маппинга объкета типа Task из Entity слоя в объекта типа TaskResponse (dto) для ответа клиенту
  */
 @Component
+@RequiredArgsConstructor
 public class TaskResponseMapper implements Function<Task, TaskResponse> {
+    private final CommentResponseMapper commentMapper;
+
     /**
      * Метод применяет функцию для маппинга объкета типа Task из Entity слоя в объекта типа TaskResponse (dto) для ответа клиенту
      * @param task the function argument
@@ -18,6 +22,16 @@ public class TaskResponseMapper implements Function<Task, TaskResponse> {
      */
     @Override
     public TaskResponse apply(Task task) {
+        return applyWithoutComments(task)
+                .setComments(task.getComments().stream().map(commentMapper).toList());
+    }
+
+    /**
+     * Метод маппит задачу без комментариев: коллекция comments не читается и не загружается из базы
+     * @param task задача
+     * @return объект типа TaskResponse без списка комментариев
+     */
+    public TaskResponse applyWithoutComments(Task task) {
         return new TaskResponse()
                 .setId(task.getId())
                 .setDescription(task.getDescription())
@@ -27,11 +41,6 @@ public class TaskResponseMapper implements Function<Task, TaskResponse> {
                 .setHeader(task.getHeader())
                 .setCreator(task.getCreator())
                 .setCreatedAt(task.getCreatedAt())
-                .setComments(task.getComments().stream().map(comment ->
-                        new TaskResponse.Comment().setAuthor(comment.getAuthor())
-                                .setBody(comment.getDescription())
-                                .setId(comment.getId())
-                                .setCreatedAt(comment.getCreatedAt())).toList());
-
+                .setVersion(task.getVersion());
     }
 }
@@ -1,29 +1,95 @@
 package com.example.taskmanager.service.impl;
 
+import com.example.taskmanager.controller.dto.BulkTaskResult;
+import com.example.taskmanager.controller.dto.TaskFilter;
 import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
 import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Status;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.dao.TaskSnapshot;
+import com.example.taskmanager.dao.TaskTombstone;
+import com.example.taskmanager.dao.TaskVersion;
 import com.example.taskmanager.exception.NotAuthorizedException;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.TaskVersionMismatchException;
 import com.example.taskmanager.exception.UserEmailException;
+import com.example.taskmanager.repository.CommentRepository;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+import com.example.taskmanager.service.api.TaskChanges;
+import com.example.taskmanager.service.api.TaskCounterService;
+import com.example.taskmanager.service.api.TaskEventService;
+import com.example.taskmanager.service.api.TaskExportWriter;
+import com.example.taskmanager.service.api.TaskSearchIndex;
+import com.example.taskmanager.service.api.TaskSearchResult;
 import com.example.taskmanager.service.api.TaskService;
+import com.example.taskmanager.utils.CursorUtils.RankedCursor;
 import com.example.taskmanager.utils.UserUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static com.example.taskmanager.configuration.CacheConfig.TASKS_CACHE;
 
 /**
  * Implementation of the TaskService interface.
+ * Время и количество вызовов каждого метода записываются в метрику task.service (теги class, method, exception).
  */
 @Service
+@Timed(value = "task.service", histogram = true)
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskResponseMapper taskMapper;
+    private final EntityManager entityManager;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCounterService taskCounterService;
+    private final TaskEventService taskEventService;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final CacheManager cacheManager;
+    private final TaskChangeWatermark taskChangeWatermark;
 
     /**
      * Метод возвращает email авторизированного пользователя или выбрасывает исключение UserEmailException
@@ -47,84 +113,529 @@ public class TaskServiceImpl implements TaskService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TASKS_CACHE, key = "#id")
+    public TaskResponse getTaskResponseById(Long id) {
+        return taskMapper.apply(taskRepository.findWithCommentsById(id).orElseThrow(TaskNotFoundException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id).orElseThrow(TaskNotFoundException::new);
+    }
+
+    /**
+     * Метод проверяет, что клиент изменяет ту версию задачи, которую он видел, или выбрасывает TaskVersionMismatchException
+     *
+     * @param task            --задача
+     * @param expectedVersion --версия задачи, которую видел клиент (null, если проверка не нужна)
+     */
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new TaskVersionMismatchException();
+        }
+    }
+
+    /**
+     * Метод проверяет результат условного UPDATE задачи: если строка не изменилась, задачу успели изменить
+     * или удалить после чтения, и изменение отклоняется так же, как при конфликте оптимистичной блокировки
+     *
+     * @param updatedRows --количество измененных строк
+     * @param id          --идентификатор задачи
+     */
+    private static void checkUpdated(int updatedRows, Long id) {
+        if (updatedRows == 0) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
     public Task createTask(TaskRequest taskRequest) {
-        Task task = new Task().setCreator(getUserEmailOrElseThrow()).setAssignee(taskRequest.getAssignee()).setHeader(taskRequest.getHeader()).setDescription(taskRequest.getDescription()).setPriority(taskRequest.getPriority()).setStatus(taskRequest.getStatus()).setCreatedAt(LocalDateTime.now());
-        return taskRepository.save(task);
+        Task task = taskRepository.saveAndFlush(toTask(taskRequest, getUserEmailOrElseThrow(), LocalDateTime.now()));
+        taskSearchIndex.indexTasks(List.of(task.getId()));
+        taskCounterService.onCreated(List.of(task));
+        taskEventService.record(TaskEventType.CREATED, List.of(task.getId()));
+        return task;
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    public List<Task> createTasks(List<TaskRequest> taskRequests) {
+        String creator = getUserEmailOrElseThrow();
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Task> tasks = taskRepository.saveAllAndFlush(taskRequests.stream().map(taskRequest -> toTask(taskRequest, creator, createdAt)).toList());
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        taskSearchIndex.indexTasks(ids);
+        taskCounterService.onCreated(tasks);
+        taskEventService.record(TaskEventType.CREATED, ids);
+        return tasks;
+    }
+
+    /**
+     * Метод создает новую сущность задачи по переданному объекту TaskRequest
+     *
+     * @param taskRequest -- экземпляр dto задачи
+     * @param creator     --email автора задачи
+     * @param createdAt   --дата и время создания задачи
+     * @return новая (еще не сохраненная) задача
+     */
+    private static Task toTask(TaskRequest taskRequest, String creator, LocalDateTime createdAt) {
+        return new Task().setCreator(creator).setAssignee(taskRequest.getAssignee()).setHeader(taskRequest.getHeader()).setDescription(taskRequest.getDescription()).setPriority(taskRequest.getPriority()).setStatus(taskRequest.getStatus()).setCreatedAt(createdAt);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Task updateTask(Long id, TaskRequest taskRequest) {
-        Task task = taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    public Task updateTask(Long id, TaskRequest taskRequest, Long expectedVersion) {
+        Task task = taskRepository.findWithCommentsById(id).orElseThrow(TaskNotFoundException::new);
         String userEmail = getUserEmailOrElseThrow();
         if (!userEmail.equals(task.getCreator())) {
             throw new NotAuthorizedException();
         }
+        checkVersion(task, expectedVersion);
+        if (Objects.equals(task.getHeader(), taskRequest.getHeader())
+                && Objects.equals(task.getDescription(), taskRequest.getDescription())
+                && task.getPriority() == taskRequest.getPriority()
+                && Objects.equals(task.getAssignee(), taskRequest.getAssignee())
+                && task.getStatus() == taskRequest.getStatus()) {
+            return task;
+        }
+        TaskSnapshot before = TaskSnapshot.of(task);
+        boolean reassigned = !Objects.equals(task.getAssignee(), taskRequest.getAssignee());
+        if (reassigned) {
+            taskTombstoneRepository.insertForAssignees(List.of(id), taskRequest.getAssignee(), LocalDateTime.now());
+            taskEventService.recordReassignment(TaskEventType.UPDATED, List.of(id), taskRequest.getAssignee());
+        }
+        checkUpdated(taskRepository.updateAtVersion(id, task.getVersion(), taskRequest.getHeader(), taskRequest.getDescription(),
+                taskRequest.getPriority(), taskRequest.getAssignee(), taskRequest.getStatus()), id);
         task.setDescription(taskRequest.getDescription()).setPriority(taskRequest.getPriority()).setAssignee(taskRequest.getAssignee()).setHeader(taskRequest.getHeader()).setStatus(taskRequest.getStatus());
-        return taskRepository.save(task);
+        task.setVersion(task.getVersion() + 1);
+        taskSearchIndex.indexTasks(List.of(id));
+        taskCounterService.onChanged(List.of(before), List.of(TaskSnapshot.of(task)));
+        if (!reassigned) {
+            taskEventService.record(TaskEventType.UPDATED, List.of(id));
+        }
+        return task;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
     public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
+        List<TaskSnapshot> tasks = taskRepository.lockSnapshotsByIds(List.of(id));
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException();
+        }
         String userEmail = getUserEmailOrElseThrow();
-        if (!userEmail.equals(task.getCreator())) {
+        if (!userEmail.equals(tasks.get(0).creator())) {
             throw new NotAuthorizedException();
         }
-        taskRepository.delete(task);
+        delete(tasks);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Task changeStatus(Long id, Status status) {
-        Task task = taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    public List<BulkTaskResult> deleteTasks(Collection<Long> ids) {
+        String userEmail = getUserEmailOrElseThrow();
+        Map<Long, BulkTaskResult.Outcome> outcomes = new LinkedHashMap<>();
+        List<TaskSnapshot> tasks = lockPermitted(ids, task -> userEmail.equals(task.creator()), outcomes);
+        if (!tasks.isEmpty()) {
+            delete(tasks);
+            tasks.forEach(task -> outcomes.put(task.id(), BulkTaskResult.Outcome.DELETED));
+            evictAfterCommit(tasks);
+        }
+        return toResults(outcomes);
+    }
+
+    /**
+     * Удаляет задачи одним DELETE по списку идентификаторов, не загружая сущности. Комментарии удаляет
+     * каскад внешнего ключа
+     */
+    private void delete(List<TaskSnapshot> tasks) {
+        List<Long> ids = tasks.stream().map(TaskSnapshot::id).toList();
+        taskEventService.record(TaskEventType.DELETED, ids);
+        LocalDateTime now = LocalDateTime.now();
+        taskTombstoneRepository.insertForCreators(ids, now);
+        taskTombstoneRepository.insertForAssignees(ids, null, now);
+        taskRepository.deleteByIds(ids);
+        taskCounterService.onDeleted(tasks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    public Task changeStatus(Long id, Status status, Long expectedVersion) {
+        Task task = taskRepository.findWithCommentsById(id).orElseThrow(TaskNotFoundException::new);
         String userEmail = getUserEmailOrElseThrow();
         if (!userEmail.equals(task.getCreator()) && !userEmail.equals(task.getAssignee())) {
             throw new NotAuthorizedException();
         }
-        task.setStatus(status);
-        return taskRepository.save(task);
+        checkVersion(task, expectedVersion);
+        if (task.getStatus() == status) {
+            return task;
+        }
+        TaskSnapshot before = TaskSnapshot.of(task);
+        checkUpdated(taskRepository.updateStatusAtVersion(id, task.getVersion(), status), id);
+        task.setStatus(status).setVersion(task.getVersion() + 1);
+        taskCounterService.onChanged(List.of(before), List.of(TaskSnapshot.of(task)));
+        taskEventService.record(TaskEventType.STATUS_CHANGED, List.of(id));
+        return task;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
     public Task setAssignee(Long id, String assignee) {
-        Task task = taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
+        Task task = taskRepository.findWithCommentsById(id).orElseThrow(TaskNotFoundException::new);
         String userEmail = getUserEmailOrElseThrow();
         if (!userEmail.equals(task.getCreator())) {
             throw new NotAuthorizedException();
         }
-        task.setAssignee(assignee);
-        return taskRepository.save(task);
+        if (Objects.equals(task.getAssignee(), assignee)) {
+            return task;
+        }
+        TaskSnapshot before = TaskSnapshot.of(task);
+        taskTombstoneRepository.insertForAssignees(List.of(id), assignee, LocalDateTime.now());
+        taskEventService.recordReassignment(TaskEventType.ASSIGNEE_CHANGED, List.of(id), assignee);
+        checkUpdated(taskRepository.updateAssigneeAtVersion(id, task.getVersion(), assignee), id);
+        task.setAssignee(assignee).setVersion(task.getVersion() + 1);
+        taskCounterService.onChanged(List.of(before), List.of(TaskSnapshot.of(task)));
+        return task;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<Task> getAllTasksByUser(String email, Pageable pageable) {
-        return taskRepository.findTasksByUsersEmail(email, pageable);
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    public List<BulkTaskResult> changeStatuses(Collection<Long> ids, Status status) {
+        String userEmail = getUserEmailOrElseThrow();
+        return bulkUpdate(ids,
+                task -> userEmail.equals(task.creator()) || userEmail.equals(task.assignee()),
+                task -> task.withStatus(status),
+                changedIds -> {
+                    taskRepository.updateStatus(changedIds, status);
+                    taskEventService.record(TaskEventType.STATUS_CHANGED, changedIds);
+                });
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    public List<BulkTaskResult> setAssignees(Collection<Long> ids, String assignee) {
+        String userEmail = getUserEmailOrElseThrow();
+        return bulkUpdate(ids,
+                task -> userEmail.equals(task.creator()),
+                task -> task.withAssignee(assignee),
+                changedIds -> {
+                    taskTombstoneRepository.insertForAssignees(changedIds, assignee, LocalDateTime.now());
+                    taskEventService.recordReassignment(TaskEventType.ASSIGNEE_CHANGED, changedIds, assignee);
+                    taskRepository.updateAssignee(changedIds, assignee);
+                });
+    }
+
+    /**
+     * Общая часть пакетных изменений: задачи, которые действительно меняются, обновляются одним UPDATE.
+     * Счетчики пересчитываются по разнице состояний, записи кэша вытесняются после commit.
+     *
+     * @param ids     --идентификаторы задач из запроса
+     * @param allowed --может ли пользователь изменять задачу
+     * @param change  --состояние задачи после изменения
+     * @param update  --UPDATE и событие outbox для набора изменяемых задач
+     * @return результат для каждого уникального идентификатора в порядке запроса
+     */
+    private List<BulkTaskResult> bulkUpdate(Collection<Long> ids, Predicate<TaskSnapshot> allowed,
+                                            UnaryOperator<TaskSnapshot> change, Consumer<List<Long>> update) {
+        Map<Long, BulkTaskResult.Outcome> outcomes = new LinkedHashMap<>();
+        List<TaskSnapshot> before = new ArrayList<>();
+        List<TaskSnapshot> after = new ArrayList<>();
+        for (TaskSnapshot task : lockPermitted(ids, allowed, outcomes)) {
+            TaskSnapshot changed = change.apply(task);
+            if (changed.equals(task)) {
+                outcomes.put(task.id(), BulkTaskResult.Outcome.UNCHANGED);
+            } else {
+                before.add(task);
+                after.add(changed);
+                outcomes.put(task.id(), BulkTaskResult.Outcome.UPDATED);
+            }
+        }
+        if (!after.isEmpty()) {
+            List<Long> changedIds = after.stream().map(TaskSnapshot::id).toList();
+            update.accept(changedIds);
+            taskCounterService.onChanged(before, after);
+            evictAfterCommit(after);
+        }
+        return toResults(outcomes);
+    }
+
+    /**
+     * Метод одним запросом блокирует и читает состояние всех задач пакета и проверяет права в памяти.
+     * Для не найденных задач и задач без прав результат сразу записывается в outcomes
+     * (порядок ключей - порядок запроса), результат для остальных задач записывает вызывающий метод.
+     *
+     * @param ids      --идентификаторы задач из запроса
+     * @param allowed  --может ли пользователь изменять задачу
+     * @param outcomes --результаты по идентификаторам задач
+     * @return задачи, которые пользователь может изменять
+     */
+    private List<TaskSnapshot> lockPermitted(Collection<Long> ids, Predicate<TaskSnapshot> allowed,
+                                             Map<Long, BulkTaskResult.Outcome> outcomes) {
+        ids.forEach(id -> outcomes.put(id, BulkTaskResult.Outcome.NOT_FOUND));
+        List<TaskSnapshot> permitted = new ArrayList<>();
+        for (TaskSnapshot task : taskRepository.lockSnapshotsByIds(outcomes.keySet())) {
+            if (allowed.test(task)) {
+                permitted.add(task);
+            } else {
+                outcomes.put(task.id(), BulkTaskResult.Outcome.FORBIDDEN);
+            }
+        }
+        return permitted;
+    }
+
+    private static List<BulkTaskResult> toResults(Map<Long, BulkTaskResult.Outcome> outcomes) {
+        return outcomes.entrySet().stream().map(e -> new BulkTaskResult(e.getKey(), e.getValue())).toList();
+    }
+
+    private void evictAfterCommit(List<TaskSnapshot> tasks) {
+        Cache cache = new TransactionAwareCacheDecorator(cacheManager.getCache(TASKS_CACHE));
+        tasks.forEach(task -> cache.evict(task.id()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskVersion> getTaskVersionsByUser(String email, TaskFilter filter, Pageable pageable) {
+        Specification<Task> specification = TaskSpecifications.of(email, filter, pageable);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskVersion> query = cb.createQuery(TaskVersion.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskVersion.class, root.get("id"), root.get("version")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<TaskVersion> versions = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(versions, pageable, () -> taskRepository.count(specification));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Task> getTasks(Page<TaskVersion> versions) {
+        List<Long> ids = versions.map(TaskVersion::id).getContent();
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        fetchComments(List.copyOf(tasks.values()));
+        List<Task> content = ids.stream().map(tasks::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, versions.getPageable(), versions.getTotalElements());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Task> getAllTasksByUserAfter(String email, Long cursorId, int size) {
+        Long beforeId = cursorId == null ? Long.MAX_VALUE : cursorId;
+        Slice<Task> slice = taskRepository.findTasksByUsersEmailBefore(email, beforeId, PageRequest.ofSize(size));
+        fetchComments(slice.getContent());
+        return slice;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskSearchResult> searchTasks(String query, RankedCursor after, int size) {
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(getUserEmailOrElseThrow(), query, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+        List<Long> ids = hits.stream().map(TaskSearchIndex.Hit::taskId).toList();
+        Map<Long, Task> tasks = ids.isEmpty() ? Map.of() : taskRepository.fetchCommentsByTaskIds(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskSearchResult> content = hits.stream()
+                .filter(hit -> tasks.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchResult(tasks.get(hit.taskId()), hit.rank()))
+                .toList();
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskStatsResponse getTaskStats() {
+        return taskCounterService.getStats(getUserEmailOrElseThrow());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Обе выборки читаются с запасом в один элемент и сливаются по номеру изменения, чтобы определить, есть ли еще изменения.
+     * Изменения выше границы {@link TaskChangeWatermark} не отдаются: транзакция с меньшим номером может быть еще
+     * не завершена, и курсор за ее номером пропустил бы ее изменение
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChanges getTaskChanges(long since, int size) {
+        String userEmail = getUserEmailOrElseThrow();
+        long upTo = taskChangeWatermark.upTo();
+        if (upTo <= since) {
+            return new TaskChanges(List.of(), List.of(), since, false);
+        }
+        Iterator<Task> tasks = taskRepository.findChangedByUsersEmail(userEmail, since, upTo, size + 1).iterator();
+        Iterator<TaskTombstone> tombstones = taskTombstoneRepository
+                .findByEmailAndChangeSeqBetweenOrderByChangeSeq(userEmail, since + 1, upTo, PageRequest.ofSize(size + 1)).iterator();
+        Map<Long, Task> changed = new LinkedHashMap<>();
+        Map<Long, Long> removed = new LinkedHashMap<>();
+        Task task = tasks.hasNext() ? tasks.next() : null;
+        TaskTombstone tombstone = tombstones.hasNext() ? tombstones.next() : null;
+        long cursor = since;
+        for (int taken = 0; taken < size && (task != null || tombstone != null); taken++) {
+            if (tombstone == null || task != null && task.getChangeSeq() < tombstone.getChangeSeq()) {
+                cursor = task.getChangeSeq();
+                changed.put(task.getId(), task);
+                task = tasks.hasNext() ? tasks.next() : null;
+            } else {
+                cursor = tombstone.getChangeSeq();
+                removed.put(tombstone.getTaskId(), tombstone.getChangeSeq());
+                tombstone = tombstones.hasNext() ? tombstones.next() : null;
+            }
+        }
+        // задача, которая пропала из списка и вернулась в него в пределах ответа, передается только как измененная
+        removed.keySet().removeAll(changed.keySet());
+        if (!changed.isEmpty()) {
+            taskRepository.fetchCommentsByTaskIds(changed.keySet());
+        }
+        return new TaskChanges(List.copyOf(changed.values()), List.copyOf(removed.keySet()), cursor,
+                task != null || tombstone != null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<TaskSummaryResponse> getTaskSummariesByUser(String email, Pageable pageable) {
+        return taskRepository.findTaskSummariesByUsersEmail(email, pageable).map(TaskSummaryResponse::of);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportTasksByUser(String email, boolean withComments, TaskExportWriter writer) throws IOException {
+        long exported = 0;
+        long afterId = 0;
+        int read;
+        do {
+            List<Task> chunk = new ArrayList<>(taskRepository.findTasksByUsersEmailAfter(email, afterId, TaskRepository.EXPORT_FETCH_SIZE));
+            read = chunk.size();
+            if (read > 0) {
+                afterId = chunk.get(read - 1).getId();
+            }
+            exported += writeChunk(chunk, withComments, writer);
+        } while (read == TaskRepository.EXPORT_FETCH_SIZE);
+        writer.flush();
+        return exported;
+    }
+
+    /**
+     * Метод записывает порцию выгружаемых задач (при необходимости догружая их комментарии одним запросом),
+     * после чего отсоединяет задачи от контекста персистентности, чтобы он не рос вместе с выгрузкой
+     *
+     * @return количество записанных задач
+     */
+    private int writeChunk(List<Task> chunk, boolean withComments, TaskExportWriter writer) throws IOException {
+        if (withComments) {
+            fetchComments(chunk);
+        }
+        for (Task task : chunk) {
+            writer.write(withComments ? taskMapper.apply(task) : taskMapper.applyWithoutComments(task));
+        }
+        writer.flush();
+        int written = chunk.size();
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
+        return written;
+    }
+
+    /**
+     * Метод инициализирует комментарии всех задач страницы одним запросом вместо запроса на каждую задачу
+     *
+     * @param tasks --задачи страницы
+     */
+    private void fetchComments(List<Task> tasks) {
+        if (!tasks.isEmpty()) {
+            taskRepository.fetchCommentsByTaskIds(tasks.stream().map(Task::getId).toList());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
     public Task addComment(Long id, String commentDescription) {
-        Task task = taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
-        Comment comment1 = new Comment().setAuthor(task.getCreator()).setDescription(commentDescription).setCreatedAt(LocalDateTime.now()).setTask(task);
-        task.getComments().add(comment1);
-        return taskRepository.save(task);
+        Task task = taskRepository.findAndIncrementVersionById(id).orElseThrow(TaskNotFoundException::new);
+        taskRepository.markChanged(id);
+        taskRepository.fetchCommentsByTaskIds(List.of(id));
+        Comment comment = new Comment().setAuthor(task.getCreator()).setDescription(commentDescription).setCreatedAt(LocalDateTime.now()).setTask(task);
+        task.getComments().add(commentRepository.saveAndFlush(comment));
+        taskSearchIndex.indexComment(comment.getId());
+        taskEventService.record(TaskEventType.COMMENT_ADDED, List.of(id));
+        return task;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeWatermark.WRITE_TIMEOUT)
+    @CacheEvict(cacheNames = TASKS_CACHE, key = "#id")
+    public Comment appendComment(Long id, String commentDescription) {
+        String creator = taskRepository.findCreatorById(id).orElseThrow(TaskNotFoundException::new);
+        taskRepository.incrementVersion(id);
+        Comment comment = new Comment().setAuthor(creator).setDescription(commentDescription).setCreatedAt(LocalDateTime.now()).setTask(taskRepository.getReferenceById(id));
+        comment = commentRepository.saveAndFlush(comment);
+        taskSearchIndex.indexComment(comment.getId());
+        taskEventService.record(TaskEventType.COMMENT_ADDED, List.of(id));
+        return comment;
     }
 
 
@@ -0,0 +1,96 @@
+package com.example.taskmanager.utils;
+
+import com.example.taskmanager.exception.InvalidCursorException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Кодирование и декодирование непрозрачных курсоров для keyset-пагинации.
+ * Клиент получает курсор как строку и не должен полагаться на его внутреннее устройство.
+ */
+@UtilityClass
+public class CursorUtils {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Метод кодирует идентификатор последнего элемента среза в курсор
+     *
+     * @param id --идентификатор последнего элемента
+     * @return непрозрачный курсор
+     */
+    public static String encode(Long id) {
+        return ENCODER.encodeToString(String.valueOf(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Метод декодирует курсор обратно в идентификатор или выбрасывает InvalidCursorException
+     *
+     * @param cursor --курсор, полученный клиентом ранее (может быть null для первого среза)
+     * @return идентификатор или null, если курсор не передан
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+            if (id < 1) {
+                throw new InvalidCursorException();
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * Метод кодирует позицию последнего элемента в выдаче, упорядоченной по релевантности, в курсор
+     *
+     * @param cursor --релевантность и идентификатор последнего элемента
+     * @return непрозрачный курсор
+     */
+    public static String encodeRanked(RankedCursor cursor) {
+        String value = Float.floatToIntBits(cursor.rank()) + ":" + cursor.id();
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Метод декодирует курсор выдачи, упорядоченной по релевантности, или выбрасывает InvalidCursorException
+     *
+     * @param cursor --курсор, полученный клиентом ранее (может быть null для первого среза)
+     * @return позиция последнего элемента или null, если курсор не передан
+     */
+    public static RankedCursor decodeRanked(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII).split(":", 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException();
+            }
+            float rank = Float.intBitsToFloat(Integer.parseInt(parts[0]));
+            long id = Long.parseLong(parts[1]);
+            if (id < 1 || !Float.isFinite(rank)) {
+                throw new InvalidCursorException();
+            }
+            return new RankedCursor(rank, id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * Позиция элемента в выдаче, упорядоченной по убыванию релевантности, а при равной релевантности - по убыванию id.
+     * Релевантность передается точным битовым представлением, чтобы сравнение с базой на следующей странице было точным.
+     *
+     * @param rank --релевантность элемента
+     * @param id   --идентификатор элемента
+     */
+    public record RankedCursor(float rank, long id) {
+    }
+}
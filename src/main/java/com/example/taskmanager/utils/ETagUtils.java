@@ -0,0 +1,64 @@
+package com.example.taskmanager.utils;
+
+import com.example.taskmanager.dao.TaskVersion;
+import com.example.taskmanager.exception.TaskVersionMismatchException;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Построение и разбор ETag на основе версии задачи (поле version, увеличивается при каждом изменении задачи).
+ */
+@UtilityClass
+public class ETagUtils {
+
+    /**
+     * Метод возвращает сильный ETag для задачи с переданной версией
+     *
+     * @param version --версия задачи
+     * @return ETag в кавычках, например "3"
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Метод возвращает сильный ETag для страницы задач: он меняется при изменении состава страницы,
+     * общего количества задач или версии любой задачи на странице
+     *
+     * @param page --идентификаторы и версии задач страницы
+     * @return ETag в кавычках
+     */
+    public static String of(Page<TaskVersion> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getNumber()).append('/').append(page.getSize()).append('/').append(page.getTotalElements());
+        page.forEach(task -> state.append(';').append(task.id()).append(':').append(task.version()));
+        CRC32C checksum = new CRC32C();
+        checksum.update(state.toString().getBytes(StandardCharsets.US_ASCII));
+        return "\"p" + Long.toHexString(checksum.getValue()) + "-" + page.getNumberOfElements() + "\"";
+    }
+
+    /**
+     * Метод извлекает ожидаемую версию задачи из заголовка If-Match
+     *
+     * @param ifMatch --значение заголовка If-Match (может быть null)
+     * @return ожидаемая версия или null, если заголовок не передан или равен *
+     * @throws TaskVersionMismatchException если заголовок не является сильным ETag задачи
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new TaskVersionMismatchException();
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TaskVersionMismatchException();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.taskmanager.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Нормализация SQL запросов для группировки в журнале медленных запросов: литералы заменяются на ?,
+ * списки параметров IN (?, ?, ...) сворачиваются, пробелы схлопываются. Запросы, отличающиеся только
+ * значениями, получают одинаковый отпечаток, а значения (в том числе персональные данные) не попадают в журнал.
+ */
+@UtilityClass
+public class SqlFingerprintUtils {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Метод возвращает нормализованный текст запроса
+     *
+     * @param sql --исходный SQL запрос
+     * @return запрос без литералов, в нижнем регистре и с одиночными пробелами
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Метод возвращает короткий отпечаток нормализованного запроса (8 шестнадцатеричных символов)
+     *
+     * @param normalizedSql --результат {@link #normalize(String)}
+     */
+    public static String fingerprint(String normalizedSql) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(normalizedSql.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", checksum.getValue());
+    }
+}
@@ -13,7 +13,7 @@ public class UserUtils {
     public static Optional<String> getCurrentUserEmail() {
         SecurityContext context = SecurityContextHolder.getContext();
         Authentication authentication = context.getAuthentication();
-        if (authentication.getPrincipal() instanceof Jwt principal) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt principal) {
             return Optional.ofNullable(principal.getClaims().get("email"))
                     .filter(String.class::isInstance)
                     .map(String.class::cast);
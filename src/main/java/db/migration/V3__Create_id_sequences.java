@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Создает последовательности task_seq и comment_seq для генерации идентификаторов пулами.
+ * Hibernate берет из последовательности верхнюю границу пула и выдает id от (значение - 49) до значения,
+ * поэтому для непустой таблицы последовательность начинается с max(id) + 50, чтобы первый пул начался с max(id) + 1.
+ */
+public class V3__Create_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : List.of("task", "comment")) {
+                long maxId = maxId(statement, table);
+                long start = maxId == 0 ? 1 : maxId + ALLOCATION_SIZE;
+                statement.execute("create sequence if not exists " + table + "_seq start with " + start
+                        + " increment by " + ALLOCATION_SIZE);
+            }
+        }
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Автор и исполнитель задачи в момент изменения: по ним события доставляются подписчикам потока изменений,
+-- в том числе для удаленных задач.
+alter table task_event add column if not exists creator varchar(255);
+alter table task_event add column if not exists assignee varchar(255);
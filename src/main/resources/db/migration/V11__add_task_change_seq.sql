@@ -0,0 +1,22 @@
+-- Номер последнего изменения задачи для синхронизации GET /api/tasks/changes?since=.
+-- Новые задачи получают номер значением по умолчанию, при каждом изменении номер выдается заново из той же
+-- последовательности, поэтому номера изменений возрастают независимо от часов серверов.
+create sequence if not exists task_change_seq;
+alter table task add column if not exists change_seq bigint default nextval('task_change_seq') not null;
+
+-- Изменения задач пользователя после номера since: каждая ветка (автор / исполнитель) читает только
+-- изменившиеся строки своим индексом, поэтому стоимость синхронизации зависит от числа изменений, а не задач.
+create index if not exists idx_task_creator_change_seq on task (creator, change_seq);
+create index if not exists idx_task_assignee_change_seq on task (assignee, change_seq);
+
+-- Задачи, пропавшие из списка пользователя: удаленные задачи и задачи, с которых пользователь снят исполнителем.
+create table if not exists task_tombstone
+(
+    id         bigint generated by default as identity primary key,
+    task_id    bigint       not null,
+    email      varchar(255) not null,
+    change_seq bigint       not null,
+    removed_at timestamp(6) not null
+);
+
+create index if not exists idx_task_tombstone_email_change_seq on task_tombstone (email, change_seq);
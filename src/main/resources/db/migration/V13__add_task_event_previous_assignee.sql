@@ -0,0 +1,3 @@
+-- Исполнитель задачи до смены исполнителя: событие доставляется и пользователю, с которого задача снята.
+-- Заполняется только для событий, записанных до UPDATE, меняющего исполнителя.
+alter table task_event add column if not exists previous_assignee varchar(255);
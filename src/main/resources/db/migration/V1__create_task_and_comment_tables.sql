@@ -0,0 +1,23 @@
+-- Схема, которую ранее создавал hibernate (ddl-auto=update).
+-- "if not exists" позволяет применить миграцию к уже существующей базе.
+create table if not exists task
+(
+    id          bigint generated by default as identity primary key,
+    header      varchar(255),
+    description varchar(255),
+    status      smallint check (status between 0 and 2),
+    priority    smallint check (priority between 0 and 2),
+    creator     varchar(255),
+    assignee    varchar(255),
+    created_at  timestamp(6)
+);
+
+create table if not exists comment
+(
+    id          bigint generated by default as identity primary key,
+    author      varchar(255),
+    description varchar(255),
+    created_at  timestamp(6),
+    task_id     bigint,
+    constraint fk_comment_task foreign key (task_id) references task (id)
+);
@@ -0,0 +1,7 @@
+-- Выборка задач пользователя: каждая ветка "creator = ? / assignee = ?" читается своим индексом,
+-- id во второй колонке отдает строки уже упорядоченными для order by id desc.
+create index if not exists idx_task_creator_id on task (creator, id);
+create index if not exists idx_task_assignee_id on task (assignee, id);
+
+-- Загрузка комментариев задачи (или страницы задач) без полного просмотра таблицы.
+create index if not exists idx_comment_task_id on comment (task_id);
@@ -0,0 +1,2 @@
+-- Версия для оптимистичной блокировки и ETag задачи.
+alter table task add column if not exists version bigint default 0 not null;
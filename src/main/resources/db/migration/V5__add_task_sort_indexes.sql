@@ -0,0 +1,7 @@
+-- Сортировка задач пользователя по дате создания и приоритету (TaskSortField):
+-- для выборки по одной роли (creator = ? / assignee = ?) строки читаются из индекса уже упорядоченными,
+-- id в последней колонке совпадает с дополнительной сортировкой по id.
+create index if not exists idx_task_creator_created_at on task (creator, created_at, id);
+create index if not exists idx_task_assignee_created_at on task (assignee, created_at, id);
+create index if not exists idx_task_creator_priority on task (creator, priority, id);
+create index if not exists idx_task_assignee_priority on task (assignee, priority, id);
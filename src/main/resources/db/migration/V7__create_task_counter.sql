@@ -0,0 +1,15 @@
+-- Счетчики задач пользователя по роли (1 - CREATOR, 2 - ASSIGNEE) и статусу для GET /api/tasks/stats.
+-- Поддерживаются приращениями в транзакции изменения задачи и периодически пересчитываются из task.
+create table if not exists task_counter
+(
+    email      varchar(255) not null,
+    role       smallint     not null check (role between 1 and 2),
+    status     smallint     not null check (status between 0 and 2),
+    task_count bigint       not null,
+    primary key (email, role, status)
+);
+
+insert into task_counter (email, role, status, task_count)
+select creator, 1, status, count(*) from task where creator is not null and status is not null group by creator, status
+union all
+select assignee, 2, status, count(*) from task where assignee is not null and status is not null group by assignee, status;
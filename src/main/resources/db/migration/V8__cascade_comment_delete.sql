@@ -0,0 +1,5 @@
+-- Комментарии удаляются вместе с задачей на стороне базы: удаление задачи не требует загрузки ее комментариев.
+-- Внешний ключ, созданный hibernate до перехода на Flyway, имеет сгенерированное имя и этой миграцией
+-- не затрагивается; в PostgreSQL его удаляет db/vendor/postgresql/V12, после чего комментарии удаляет только каскад.
+alter table comment drop constraint if exists fk_comment_task;
+alter table comment add constraint fk_comment_task foreign key (task_id) references task (id) on delete cascade;
@@ -0,0 +1,10 @@
+-- Outbox изменений задач: событие пишется в транзакции изменения задачи и удаляется после публикации.
+-- type - ordinal TaskEventType (0 - CREATED, 1 - UPDATED, 2 - STATUS_CHANGED, 3 - ASSIGNEE_CHANGED, 4 - COMMENT_ADDED, 5 - DELETED).
+create table if not exists task_event
+(
+    id         bigint generated by default as identity primary key,
+    task_id    bigint       not null,
+    type       smallint     not null check (type between 0 and 5),
+    actor      varchar(255),
+    created_at timestamp(6) not null
+);
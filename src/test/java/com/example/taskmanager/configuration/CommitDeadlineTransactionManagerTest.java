@@ -0,0 +1,71 @@
+package com.example.taskmanager.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(TaskChangesConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommitDeadlineTransactionManagerTest {
+    private static final String COUNT = "SELECT count(*) FROM task_counter WHERE email = 'deadline@mail.com'";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_counter WHERE email = 'deadline@mail.com'");
+    }
+
+    @Test
+    void given_TimeoutExpiredAfterLastStatement_when_committing_then_transactionRolledBack() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(1);
+        // when then
+        assertInstanceOf(CommitDeadlineTransactionManager.class, transactionManager);
+        assertThrows(TransactionTimedOutException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            insertCounter();
+            sleep(1_100);
+        }));
+        assertEquals(0, jdbcTemplate.queryForObject(COUNT, Integer.class));
+    }
+
+    @Test
+    void given_TimeoutNotExpired_when_committing_then_transactionCommitted() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(10);
+        // when
+        transactionTemplate.executeWithoutResult(status -> insertCounter());
+        // then
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT, Integer.class));
+    }
+
+    private void insertCounter() {
+        jdbcTemplate.update("INSERT INTO task_counter (email, role, status, task_count) VALUES ('deadline@mail.com', 1, 0, 1)");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
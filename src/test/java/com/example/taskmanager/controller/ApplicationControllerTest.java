@@ -1,28 +1,58 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.controller.dto.BulkTaskResult;
+import com.example.taskmanager.controller.dto.TaskFilter;
 import com.example.taskmanager.controller.dto.TaskRequest;
 import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
+import com.example.taskmanager.dao.Priority;
 import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskVersion;
+import com.example.taskmanager.dao.TaskRole;
+import com.example.taskmanager.exception.TaskVersionMismatchException;
+import com.example.taskmanager.service.api.TaskChanges;
+import com.example.taskmanager.service.api.TaskExportWriter;
+import com.example.taskmanager.service.api.TaskSearchResult;
+import com.example.taskmanager.service.impl.TaskEventBroadcaster;
 import com.example.taskmanager.service.impl.TaskServiceImpl;
+import com.example.taskmanager.utils.CursorUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import static com.example.taskmanager.utils.TestHelper.createTask;
 import static com.example.taskmanager.utils.TestHelper.createTaskResponse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +65,10 @@ class ApplicationControllerTest {
     TaskServiceImpl taskService;
     @MockBean
     Function<Task, TaskResponse> taskMapper;
+    @MockBean
+    Function<Comment, TaskResponse.Comment> commentMapper;
+    @MockBean
+    TaskEventBroadcaster taskEventBroadcaster;
     @Autowired
     private MockMvc mockMvc;
 
@@ -61,15 +95,31 @@ class ApplicationControllerTest {
         verify(taskService, times(1)).createTask(any());
     }
 
+    @Test
+    void given_BatchOfTaskRequests_when_postRequestToBatch_then_returnsCreatedTasks() throws Exception {
+        // given
+        when(taskService.createTasks(any())).thenReturn(List.of(createTask(1L), createTask(2L)));
+        when(taskMapper.apply(any(Task.class))).thenReturn(createTaskResponse(1L), createTaskResponse(2L));
+        String task = "{\"header\": \"New Task\", \"description\": \"Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}";
+        // when then
+        mockMvc.perform(post("/api/tasks/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\": [" + task + ", " + task + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2));
+        verify(taskService, times(1)).createTasks(argThat(requests -> requests.size() == 2));
+    }
+
     @Test
     void given_TaskId_when_GetRequestToGetTaskById_then_correctResponse() throws Exception {
         // given
         Long id = 1L;
-        Task task = createTask(id);
         TaskResponse taskResponse = createTaskResponse(id);
         // when then
-        when(taskService.getTaskById(id)).thenReturn(task);
-        when(taskMapper.apply(any(Task.class))).thenReturn(taskResponse);
+        when(taskService.getTaskResponseById(id)).thenReturn(taskResponse);
         mockMvc.perform(get("/api/tasks/{id}", id)
                         .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -77,10 +127,133 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void given_TaskId_when_GetRequestToGetTaskById_then_responseHasVersionETag() throws Exception {
+        // given
+        Long id = 1L;
+        when(taskService.getTaskResponseById(id)).thenReturn(createTaskResponse(id).setVersion(3L));
+        // when then
+        mockMvc.perform(get("/api/tasks/{id}", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+        verify(taskService, never()).getTaskVersion(anyLong());
+    }
+
+    @Test
+    void given_IfNoneMatchWithCurrentVersion_when_GetRequestToGetTaskById_then_notModified() throws Exception {
+        // given
+        Long id = 1L;
+        when(taskService.getTaskVersion(id)).thenReturn(3L);
+        // when then
+        mockMvc.perform(get("/api/tasks/{id}", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(taskService, never()).getTaskResponseById(anyLong());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void given_IfNoneMatchWithStaleVersion_when_GetRequestToGetTaskById_then_returnsTask() throws Exception {
+        // given
+        Long id = 1L;
+        when(taskService.getTaskVersion(id)).thenReturn(4L);
+        when(taskService.getTaskResponseById(id)).thenReturn(createTaskResponse(id).setVersion(4L));
+        // when then
+        mockMvc.perform(get("/api/tasks/{id}", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void given_IfNoneMatchWithPageETag_when_getRequestToGetTasks_then_notModified() throws Exception {
+        // given
+        Page<Task> tasks = new PageImpl<>(List.of(createTask(1L), createTask(2L)), PageRequest.of(0, 2), 2);
+        when(taskService.getTaskVersionsByUser(any(), any(), any())).thenReturn(tasks.map(TaskVersion::of));
+        when(taskService.getTasks(any())).thenReturn(tasks);
+        String eTag = mockMvc.perform(get("/api/tasks/all_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(taskMapper, taskService);
+        // when then
+        mockMvc.perform(get("/api/tasks/all_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(taskService, never()).getTasks(any());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void given_EmailAndNdjsonFormat_when_getRequestToExportTasks_then_streamsTasksAsNdjson() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            TaskExportWriter writer = invocation.getArgument(2);
+            writer.write(createTaskResponse(1L));
+            writer.write(createTaskResponse(2L));
+            writer.flush();
+            return 2L;
+        }).when(taskService).exportTasksByUser(eq("test@example.com"), eq(true), any());
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("comments", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"comments\":[{"));
+    }
+
+    @Test
+    void given_EmailAndCsvFormat_when_getRequestToExportTasks_then_streamsCsvHeader() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            invocation.<TaskExportWriter>getArgument(2).flush();
+            return 0L;
+        }).when(taskService).exportTasksByUser(any(), anyBoolean(), any());
+        // when
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,header,description,status,priority,creator,assignee,created_at,version\r\n"));
+        verify(taskService).exportTasksByUser(eq("test@example.com"), eq(false), any());
+    }
+
     @Test
     void given_filterParameters_when_getRequestToGetTasks_then_correctResponse() throws Exception {
         // given
-        when(taskService.getAllTasksByUser(any(), any())).thenReturn(Page.empty());
+        when(taskService.getTaskVersionsByUser(any(), any(), any())).thenReturn(Page.empty());
+        when(taskService.getTasks(any())).thenReturn(Page.empty());
         // when then
         mockMvc.perform(get("/api/tasks/all_tasks")
                         .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
@@ -91,6 +264,210 @@ class ApplicationControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void given_filterAndSortParameters_when_getRequestToGetTasks_then_passedToService() throws Exception {
+        // given
+        when(taskService.getTaskVersionsByUser(any(), any(), any())).thenReturn(Page.empty());
+        when(taskService.getTasks(any())).thenReturn(Page.empty());
+        ArgumentCaptor<TaskFilter> filter = ArgumentCaptor.forClass(TaskFilter.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        // when
+        mockMvc.perform(get("/api/tasks/all_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("status", "PENDING")
+                        .param("priority", "HIGH")
+                        .param("role", "ASSIGNEE")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("createdTo", "2024-02-01T00:00:00")
+                        .param("sort", "CREATED_AT")
+                        .param("direction", "ASC"))
+                .andExpect(status().isOk());
+        // then
+        verify(taskService).getTaskVersionsByUser(eq("test@example.com"), filter.capture(), pageable.capture());
+        assertEquals(new TaskFilter()
+                .setStatus(Status.PENDING)
+                .setPriority(Priority.HIGH)
+                .setRole(TaskRole.ASSIGNEE)
+                .setCreatedFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .setCreatedTo(LocalDateTime.of(2024, 2, 1, 0, 0)), filter.getValue());
+        assertEquals(Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id")), pageable.getValue().getSort());
+    }
+
+    @Test
+    void given_noSortParameters_when_getRequestToGetTasks_then_sortedByIdDescending() throws Exception {
+        // given
+        when(taskService.getTaskVersionsByUser(any(), any(), any())).thenReturn(Page.empty());
+        when(taskService.getTasks(any())).thenReturn(Page.empty());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        // when
+        mockMvc.perform(get("/api/tasks/all_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+        // then
+        verify(taskService).getTaskVersionsByUser(eq("test@example.com"), eq(new TaskFilter()), pageable.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), pageable.getValue().getSort());
+    }
+
+    @Test
+    void given_notWhitelistedSortField_when_getRequestToGetTasks_then_badRequest() throws Exception {
+        // when then
+        mockMvc.perform(get("/api/tasks/all_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("sort", "description"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).getTaskVersionsByUser(any(), any(), any());
+    }
+
+    @Test
+    void given_authenticatedUser_when_getRequestToGetTaskStats_then_returnsCountsByStatus() throws Exception {
+        // given
+        when(taskService.getTaskStats()).thenReturn(new TaskStatsResponse()
+                .setCreated(Map.of(Status.PENDING, 2L))
+                .setAssigned(Map.of(Status.COMPLETED, 5L)));
+        // when then
+        mockMvc.perform(get("/api/tasks/stats")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.PENDING").value(2))
+                .andExpect(jsonPath("$.assigned.COMPLETED").value(5));
+    }
+
+    @Test
+    void given_sinceAndSize_when_getRequestToTaskChanges_then_returnsChangedAndRemovedTasksWithCursor() throws Exception {
+        // given
+        Task task = createTask(4L);
+        when(taskService.getTaskChanges(15L, 2)).thenReturn(new TaskChanges(List.of(task), List.of(7L), 21L, true));
+        when(taskMapper.apply(task)).thenReturn(createTaskResponse(4L));
+        // when then
+        mockMvc.perform(get("/api/tasks/changes")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("since", "15")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value(4))
+                .andExpect(jsonPath("$.removed[0]").value(7))
+                .andExpect(jsonPath("$.cursor").value(21))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void given_negativeSince_when_getRequestToTaskChanges_then_returnsBadRequest() throws Exception {
+        // when then
+        mockMvc.perform(get("/api/tasks/changes")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("since", "-1"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).getTaskChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    void given_AuthenticatedUser_when_getRequestToStream_then_subscribesUserToTaskChanges() throws Exception {
+        // given
+        when(taskEventBroadcaster.subscribe("test@example.com")).thenReturn(new SseEmitter());
+        // when then
+        mockMvc.perform(get("/api/tasks/stream")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("email", "test@example.com")))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(taskEventBroadcaster).subscribe("test@example.com");
+    }
+
+    @Test
+    void given_queryAndCursor_when_getRequestToSearchTasks_then_returnsSliceWithRankedCursor() throws Exception {
+        // given
+        CursorUtils.RankedCursor after = new CursorUtils.RankedCursor(0.5f, 9L);
+        Task task = createTask(4L);
+        when(taskService.searchTasks("report", after, 1))
+                .thenReturn(new SliceImpl<>(List.of(new TaskSearchResult(task, 0.25f)), PageRequest.ofSize(1), true));
+        when(taskMapper.apply(task)).thenReturn(createTaskResponse(4L));
+        // when then
+        mockMvc.perform(get("/api/tasks/search")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("q", "report")
+                        .param("after", CursorUtils.encodeRanked(after))
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(4))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(CursorUtils.encodeRanked(new CursorUtils.RankedCursor(0.25f, 4L))));
+    }
+
+    @Test
+    void given_blankQuery_when_getRequestToSearchTasks_then_badRequest() throws Exception {
+        // when then
+        mockMvc.perform(get("/api/tasks/search")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("q", " ")
+                        .param("size", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.q").value("q can't be blank"));
+        verify(taskService, never()).searchTasks(any(), any(), anyInt());
+    }
+
+    @Test
+    void given_EmailAndPage_when_getRequestToGetTaskSummaries_then_returnsCompactPage() throws Exception {
+        // given
+        TaskSummaryResponse summary = new TaskSummaryResponse(1L, "header", Status.PENDING, Priority.LOW, "assignee@example.com", LocalDateTime.now());
+        when(taskService.getTaskSummariesByUser(any(), any())).thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1));
+        // when then
+        mockMvc.perform(get("/api/tasks/all_tasks/summary")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].header").value("header"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].comments").doesNotExist());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void given_Cursor_when_getRequestToGetTasksAfter_then_returnsSliceWithNextCursor() throws Exception {
+        // given
+        Task first = createTask(5L);
+        Task second = createTask(4L);
+        when(taskService.getAllTasksByUserAfter("test@example.com", 6L, 2))
+                .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.ofSize(2), true));
+        when(taskMapper.apply(any(Task.class))).thenReturn(createTaskResponse(5L), createTaskResponse(4L));
+        // when then
+        mockMvc.perform(get("/api/tasks/all_tasks/cursor")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("after", CursorUtils.encode(6L))
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(CursorUtils.encode(4L)));
+    }
+
+    @Test
+    void given_MalformedCursor_when_getRequestToGetTasksAfter_then_badRequest() throws Exception {
+        // when then
+        mockMvc.perform(get("/api/tasks/all_tasks/cursor")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .param("email", "test@example.com")
+                        .param("after", "not a cursor")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor is malformed"));
+        verify(taskService, never()).getAllTasksByUserAfter(any(), any(), anyInt());
+    }
+
     @Test
     void given_TaskIdAndTaskRequest_when_putRequestToUpdateTask_then_correctResponse() throws Exception {
         // given
@@ -98,17 +475,50 @@ class ApplicationControllerTest {
         Task task = createTask(id);
         TaskResponse taskResponse = createTaskResponse(id);
         //when
-        when(taskService.updateTask(anyLong(), any(TaskRequest.class))).thenReturn(task);
+        when(taskService.updateTask(anyLong(), any(TaskRequest.class), any())).thenReturn(task);
         when(taskMapper.apply(any(Task.class))).thenReturn(taskResponse);
         mockMvc.perform(put("/api/tasks/{id}/update_task", id)
                         .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"header\": \"Updated Task\", \"description\": \"Updated Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}"))
                 .andExpect(status().isOk());
-        verify(taskService, times(1)).updateTask(anyLong(), any(TaskRequest.class));
+        verify(taskService, times(1)).updateTask(anyLong(), any(TaskRequest.class), any());
 
     }
 
+    @Test
+    void given_IfMatchWithStaleVersion_when_putRequestToUpdateTask_then_preconditionFailed() throws Exception {
+        // given
+        Long id = 1L;
+        when(taskService.updateTask(anyLong(), any(TaskRequest.class), eq(2L))).thenThrow(new TaskVersionMismatchException());
+        // when then
+        mockMvc.perform(put("/api/tasks/{id}/update_task", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"header\": \"Updated Task\", \"description\": \"Updated Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Task has been modified since it was read"));
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void given_IfMatchWithCurrentVersion_when_PatchRequestToChangeStatus_then_responseHasNewVersionETag() throws Exception {
+        // given
+        Long id = 1L;
+        Task task = createTask(id).setStatus(Status.COMPLETED).setVersion(3L);
+        when(taskService.changeStatus(id, Status.COMPLETED, 2L)).thenReturn(task);
+        when(taskMapper.apply(task)).thenReturn(createTaskResponse(id).setStatus(Status.COMPLETED).setVersion(3L));
+        // when then
+        mockMvc.perform(patch("/api/tasks/{id}/change_status", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .param("status", Status.COMPLETED.name()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.status").value(Status.COMPLETED.name()));
+    }
+
     @Test
     void given_TaskId_when_DeleteRequestToDeleteTask_then_correctResponse() throws Exception {
         // given
@@ -134,7 +544,7 @@ class ApplicationControllerTest {
         TaskResponse taskResponse = createTaskResponse(id).setStatus(newStatus);
 
         // when  then
-        when(taskService.changeStatus(anyLong(), any(Status.class))).thenReturn(task);
+        when(taskService.changeStatus(anyLong(), any(Status.class), any())).thenReturn(task);
         when(taskMapper.apply(any(Task.class))).thenReturn(taskResponse);
 
         mockMvc.perform(patch("/api/tasks/{id}/change_status", id)
@@ -144,7 +554,7 @@ class ApplicationControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.status").value(newStatus.name()));
-        verify(taskService, times(1)).changeStatus(anyLong(), any(Status.class));
+        verify(taskService, times(1)).changeStatus(anyLong(), any(Status.class), any());
     }
 
     @Test
@@ -170,6 +580,50 @@ class ApplicationControllerTest {
         verify(taskService, times(1)).setAssignee(anyLong(), any(String.class));
     }
 
+    @Test
+    void given_TaskIdsAndStatus_when_PatchRequestToBulkChangeStatus_then_returnsOutcomePerTask() throws Exception {
+        // given
+        when(taskService.changeStatuses(List.of(1L, 2L), Status.COMPLETED)).thenReturn(List.of(
+                new BulkTaskResult(1L, BulkTaskResult.Outcome.UPDATED),
+                new BulkTaskResult(2L, BulkTaskResult.Outcome.FORBIDDEN)));
+        // when then
+        mockMvc.perform(patch("/api/tasks/bulk/change_status")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2], \"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$[1].outcome").value("FORBIDDEN"));
+    }
+
+    @Test
+    void given_EmptyTaskIds_when_PatchRequestToBulkSetAssignee_then_badRequest() throws Exception {
+        // when then
+        mockMvc.perform(patch("/api/tasks/bulk/set_assignee")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [], \"assignee\": \"assignee@mail.com\"}"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).setAssignees(any(), any());
+    }
+
+    @Test
+    void given_TaskIds_when_PostRequestToBulkDeleteTasks_then_returnsOutcomePerTask() throws Exception {
+        // given
+        when(taskService.deleteTasks(List.of(1L, 2L))).thenReturn(List.of(
+                new BulkTaskResult(1L, BulkTaskResult.Outcome.DELETED),
+                new BulkTaskResult(2L, BulkTaskResult.Outcome.NOT_FOUND)));
+        // when then
+        mockMvc.perform(post("/api/tasks/bulk/delete_tasks")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("DELETED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+    }
+
     @Test
     void given_TaskIdAndCommentRequest_when_PostRequestToAddComment_then_correctResponse() throws Exception {
         // given
@@ -188,4 +642,25 @@ class ApplicationControllerTest {
                 .andExpect(jsonPath("$.id").value(id));
         verify(taskService, times(1)).addComment(anyLong(), any(String.class));
     }
+
+    @Test
+    void given_TaskIdAndCommentRequest_when_PostRequestToAppendComment_then_returnsOnlyNewComment() throws Exception {
+        // given
+        Long id = 1L;
+        String commentDescription = "newComment";
+        Comment comment = new Comment().setId(7L).setDescription(commentDescription);
+        TaskResponse.Comment commentResponse = new TaskResponse.Comment().setId(7L).setBody(commentDescription);
+        when(taskService.appendComment(anyLong(), any(String.class))).thenReturn(comment);
+        when(commentMapper.apply(comment)).thenReturn(commentResponse);
+        // when then
+        mockMvc.perform(post("/api/tasks/{id}/append_comment", id)
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"" + commentDescription + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.body").value(commentDescription));
+        verify(taskService, times(1)).appendComment(id, commentDescription);
+        verifyNoInteractions(taskMapper);
+    }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.example.taskmanager.controller.dto;
 
 import com.example.taskmanager.controller.ApplicationController;
+import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Task;
 import com.example.taskmanager.exception.ApplicationException;
 import com.example.taskmanager.exception.NotAuthorizedException;
 import com.example.taskmanager.exception.TaskNotFoundException;
 import com.example.taskmanager.exception.UserEmailException;
+import com.example.taskmanager.service.impl.TaskEventBroadcaster;
 import com.example.taskmanager.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,10 +38,16 @@ class GlobalExceptionHandlerTest {
     @MockBean
     private Function<Task, TaskResponse> taskMapper;
 
+    @MockBean
+    private Function<Comment, TaskResponse.Comment> commentMapper;
+
+    @MockBean
+    private TaskEventBroadcaster taskEventBroadcaster;
+
     @Test
     void given_TaskNotFoundException_when_GetTaskById_then_ReturnsNotFoundMessage() throws Exception {
-        // Мокируем выбрасывание TaskNotFoundException в taskService.getTaskById
-        doThrow(new TaskNotFoundException()).when(taskService).getTaskById(anyLong());
+        // Мокируем выбрасывание TaskNotFoundException в taskService.getTaskResponseById
+        doThrow(new TaskNotFoundException()).when(taskService).getTaskResponseById(anyLong());
 
         // Выполняем GET-запрос для получения задачи с ID 1
         mockMvc.perform(get("/api/tasks/{id}", 1L)
@@ -53,7 +61,7 @@ class GlobalExceptionHandlerTest {
     @Test
     void given_NotAuthorizedException_when_UpdateTask_then_ReturnsForbidden() throws Exception {
 
-        doThrow(new NotAuthorizedException()).when(taskService).updateTask(any(Long.class), any(TaskRequest.class));
+        doThrow(new NotAuthorizedException()).when(taskService).updateTask(any(Long.class), any(TaskRequest.class), any());
 
         String validTaskRequestJson = "{\"header\": \"Updated Task\", \"description\": \"Updated Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}";
 
@@ -70,7 +78,7 @@ class GlobalExceptionHandlerTest {
     @Test
     void given_UserEmailException_when_UpdateTask_then_ReturnsForbidden() throws Exception {
 
-        doThrow(new UserEmailException()).when(taskService).updateTask(any(Long.class), any(TaskRequest.class));
+        doThrow(new UserEmailException()).when(taskService).updateTask(any(Long.class), any(TaskRequest.class), any());
 
         String validTaskRequestJson = "{\"header\": \"Updated Task\", \"description\": \"Updated Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}";
 
@@ -86,7 +94,7 @@ class GlobalExceptionHandlerTest {
     @Test
     void given_GenericApplicationException_when_UpdateTask_then_ReturnsInternalServerError() throws Exception {
         // Мокируем выбрасывание ApplicationException в taskService.updateTask
-        doThrow(new ApplicationException("An unexpected error occurred")).when(taskService).updateTask(any(Long.class), any(TaskRequest.class));
+        doThrow(new ApplicationException("An unexpected error occurred")).when(taskService).updateTask(any(Long.class), any(TaskRequest.class), any());
 
         String validTaskRequestJson = "{\"header\": \"Updated Task\", \"description\": \"Updated Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}";
 
@@ -1,7 +1,9 @@
 package com.example.taskmanager.controller.dto;
 
 import com.example.taskmanager.controller.ApplicationController;
+import com.example.taskmanager.dao.Comment;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.service.impl.TaskEventBroadcaster;
 import com.example.taskmanager.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.function.Function;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -30,6 +33,12 @@ class TaskRequestTest {
     @MockBean
     private Function<Task, TaskResponse> taskMapper;
 
+    @MockBean
+    private Function<Comment, TaskResponse.Comment> commentMapper;
+
+    @MockBean
+    private TaskEventBroadcaster taskEventBroadcaster;
+
     @Test
     void given_EmptyHeader_when_UpdateTask_then_ReturnsBadRequest() throws Exception {
         String invalidTaskRequestJson = "{\"header\": \"\", \"description\": \"Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}";
@@ -89,4 +98,26 @@ class TaskRequestTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value("task's status can't be empty"));
     }
+
+    @Test
+    void given_BatchWithInvalidTask_when_CreateTasks_then_ReturnsBadRequest() throws Exception {
+        String invalidBatchRequestJson = "{\"tasks\": [{\"header\": \"\", \"description\": \"Description\", \"assignee\": \"assignee@example.com\", \"priority\": \"HIGH\", \"status\": \"IN_PROGRESS\"}]}";
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidBatchRequestJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['tasks[0].header']").value("task's header can't be empty"));
+    }
+
+    @Test
+    void given_EmptyBatch_when_CreateTasks_then_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt -> jwt.claim("test@example.com", "test@example.com")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.tasks").value("tasks can't be empty"));
+    }
 }
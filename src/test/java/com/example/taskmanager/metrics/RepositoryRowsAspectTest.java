@@ -0,0 +1,89 @@
+package com.example.taskmanager.metrics;
+
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.taskmanager.utils.TestHelper.createTask;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryRowsAspectTest {
+    private SimpleMeterRegistry registry;
+    private TaskRepository target;
+    private TaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(TaskRepository.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(TaskRepository.class);
+        factory.addAspect(new RepositoryRowsAspect(registry));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void givenSliceResult_whenRepositoryMethodInvoked_thenRecordsNumberOfElements() {
+        List<Task> tasks = List.of(createTask(2L), createTask(1L));
+        when(target.findAll(ArgumentMatchers.<Specification<Task>>any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(tasks, PageRequest.of(0, 10), 12));
+
+        repository.findAll(Specification.where(null), PageRequest.of(0, 10));
+
+        assertEquals(2, registry.get(RepositoryRowsAspect.METRIC_NAME)
+                .tag("repository", "TaskRepository")
+                .tag("method", "findAll")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void givenDefaultMethod_whenRepositoryMethodInvoked_thenOnlyQueryItCallsIsRecorded() {
+        List<Task> tasks = List.of(createTask(2L), createTask(1L));
+        when(target.findTasksByUsersEmailBefore(any(), any(), any())).thenReturn(new SliceImpl<>(tasks, PageRequest.of(0, 10), false));
+        when(target.findBeforeByUsersEmail(any(), any(), anyInt())).thenReturn(tasks);
+
+        repository.findTasksByUsersEmailBefore("test@example.com", 3L, PageRequest.of(0, 10));
+        // в Spring Data default-метод вызывает запрос через прокси репозитория
+        repository.findBeforeByUsersEmail("test@example.com", 3L, 11);
+
+        assertNull(registry.find(RepositoryRowsAspect.METRIC_NAME).tag("method", "findTasksByUsersEmailBefore").summary());
+        assertEquals(2, registry.get(RepositoryRowsAspect.METRIC_NAME).tag("method", "findBeforeByUsersEmail").summary().totalAmount());
+    }
+
+    @Test
+    void givenOptionalAndCollectionResults_whenRepositoryMethodsInvoked_thenRecordsRowCounts() {
+        when(target.findCreatorById(1L)).thenReturn(Optional.empty());
+        when(target.fetchCommentsByTaskIds(any())).thenReturn(List.of(createTask(1L)));
+
+        repository.findCreatorById(1L);
+        repository.fetchCommentsByTaskIds(List.of(1L));
+
+        assertEquals(0, registry.get(RepositoryRowsAspect.METRIC_NAME).tag("method", "findCreatorById").summary().totalAmount());
+        assertEquals(1, registry.get(RepositoryRowsAspect.METRIC_NAME).tag("method", "fetchCommentsByTaskIds").summary().totalAmount());
+    }
+
+    @Test
+    void givenScalarResult_whenRepositoryMethodInvoked_thenNothingIsRecorded() {
+        when(target.incrementVersion(1L)).thenReturn(1);
+
+        repository.incrementVersion(1L);
+
+        assertNull(registry.find(RepositoryRowsAspect.METRIC_NAME).summary());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.taskmanager.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryDataSourcePostProcessorTest {
+    private SimpleMeterRegistry registry;
+    private List<Runnable> logged;
+    private JdbcDataSource target;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        logged = new ArrayList<>();
+        target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:slow-query;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void givenZeroThreshold_whenStatementsExecuted_thenEveryStatementRecorded() throws SQLException {
+        DataSource dataSource = wrap(Duration.ZERO, 1.0);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             PreparedStatement prepared = connection.prepareStatement("select ?")) {
+            statement.execute("select 1");
+            prepared.setInt(1, 1);
+            prepared.executeQuery().close();
+        }
+
+        assertEquals(2, registry.get(SlowQueryLog.METRIC_NAME).counter().count());
+        assertEquals(2, logged.size());
+    }
+
+    @Test
+    void givenHighThreshold_whenStatementExecuted_thenNothingRecorded() throws SQLException {
+        DataSource dataSource = wrap(Duration.ofMinutes(1), 1.0);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+        }
+
+        assertEquals(0, registry.get(SlowQueryLog.METRIC_NAME).counter().count());
+        assertTrue(logged.isEmpty());
+    }
+
+    @Test
+    void givenZeroSampleRate_whenSlowStatementExecuted_thenCountedButNotLogged() throws SQLException {
+        DataSource dataSource = wrap(Duration.ZERO, 0.0);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+        }
+
+        assertEquals(1, registry.get(SlowQueryLog.METRIC_NAME).counter().count());
+        assertTrue(logged.isEmpty());
+    }
+
+    @Test
+    void givenWrappedDataSource_whenUnwrap_thenReturnsOriginal() throws SQLException {
+        DataSource dataSource = wrap(Duration.ZERO, 1.0);
+
+        assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+        assertSame(target, dataSource.unwrap(JdbcDataSource.class));
+    }
+
+    @Test
+    void givenFailingStatement_whenExecuted_thenOriginalExceptionPropagated() throws SQLException {
+        DataSource dataSource = wrap(Duration.ZERO, 1.0);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () -> statement.execute("select * from missing_table"));
+        }
+    }
+
+    private DataSource wrap(Duration threshold, double sampleRate) {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(threshold, sampleRate, registry, logged::add);
+        return SlowQueryDataSourcePostProcessor.wrap(target, slowQueryLog);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsFilterTest {
+
+    @Test
+    void givenRequestExecutingStatements_whenFiltered_thenRecordsStatementCountPerUriPattern() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(registry);
+        SqlStatementCounter counter = new SqlStatementCounter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            counter.inspect("select 3");
+        });
+
+        DistributionSummary summary = registry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/api/tasks/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    void givenStatementsBeforeRequest_whenFiltered_thenOnlyStatementsOfRequestAreRecorded() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementCounter counter = new SqlStatementCounter();
+        counter.inspect("select before");
+
+        new SqlStatementMetricsFilter(registry).doFilter(new MockHttpServletRequest("POST", "/unmapped"), new MockHttpServletResponse(),
+                (req, res) -> counter.inspect("insert"));
+
+        DistributionSummary summary = registry.get(SqlStatementMetricsFilter.METRIC_NAME).tag("uri", "UNKNOWN").summary();
+        assertEquals(1, summary.totalAmount());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanager.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Миграции внешнего ключа comment.task_id на встроенном PostgreSQL для базы, которую раньше создавал hibernate:
+ * после V12 удаление задачи удаляет ее комментарии каскадом.
+ */
+class CommentForeignKeyPostgresTest {
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void given_HibernateGeneratedForeignKey_when_migrated_then_onlyCascadingKeyRemains() {
+        // given
+        migrate("11");
+        jdbcTemplate.execute("alter table comment add constraint fk5yx0uphgjc6ik6hb82kkw501y " +
+                "foreign key (task_id) references task (id)");
+        // when
+        migrate(null);
+        // then
+        assertEquals(List.of("fk_comment_task:c"), jdbcTemplate.queryForList(
+                "select conname || ':' || confdeltype::text from pg_constraint " +
+                        "where contype = 'f' and conrelid = 'comment'::regclass", String.class));
+    }
+
+    @Test
+    void given_HibernateGeneratedForeignKey_when_taskRowDeleted_then_commentsAreDeletedByCascade() {
+        // given
+        migrate("11");
+        jdbcTemplate.execute("alter table comment add constraint fk5yx0uphgjc6ik6hb82kkw501y " +
+                "foreign key (task_id) references task (id)");
+        migrate(null);
+        Long taskId = jdbcTemplate.queryForObject(
+                "insert into task (header, creator, version) values ('header', 'test@example.com', 0) returning id", Long.class);
+        jdbcTemplate.update("insert into comment (description, task_id) values ('comment', ?)", taskId);
+        // when
+        jdbcTemplate.update("delete from task where id = ?", taskId);
+        // then
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from comment", Integer.class));
+    }
+
+    private void migrate(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.controller.dto.TaskFilter;
+import com.example.taskmanager.dao.Status;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет по плану выполнения (EXPLAIN), что схема из миграций обслуживает горячие запросы индексами.
+ * План строится для SQL, который репозиторий действительно отправил в базу (его перехватывает {@link RecordingInspector}).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.taskmanager.repository.TaskRepositoryIndexTest$RecordingInspector")
+class TaskRepositoryIndexTest {
+    private static final String EMAIL = "test@example.com";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    private String explain(String sql) {
+        return new JdbcTemplate(dataSource).queryForList("EXPLAIN " + sql, String.class).get(0).toUpperCase();
+    }
+
+    /**
+     * План первого запроса, выполненного репозиторием в тесте (запрос страницы, а не следующий за ним count)
+     */
+    private String explainExecuted() {
+        return explain(RecordingInspector.STATEMENTS.get(0));
+    }
+
+    private static void assertBranchesLimitedByIndexes(String plan, String creatorIndex, String assigneeIndex) {
+        assertTrue(plan.contains(creatorIndex), plan);
+        assertTrue(plan.contains(assigneeIndex), plan);
+        // у каждой ветки своя граница (FETCH FIRST), у внешнего запроса - FETCH NEXT
+        assertTrue(plan.split("FETCH FIRST", -1).length > 2, plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void given_UserTasksCountQuery_when_explained_then_eachBranchUsesItsIndex() {
+        taskRepository.countByUsersEmail(EMAIL);
+        String plan = explainExecuted();
+
+        assertTrue(plan.contains("IDX_TASK_CREATOR_ID"), plan);
+        assertTrue(plan.contains("IDX_TASK_ASSIGNEE_ID"), plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void given_UserTasksKeysetQuery_when_explained_then_eachBranchReadsItsIndexUpToPageEnd() {
+        taskRepository.findTasksByUsersEmailBefore(EMAIL, 1000L, PageRequest.ofSize(10));
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "IDX_TASK_CREATOR_ID", "IDX_TASK_ASSIGNEE_ID");
+    }
+
+    @Test
+    void given_UserTasksExportQuery_when_explained_then_eachBranchReadsItsIndexUpToChunkEnd() {
+        taskRepository.findTasksByUsersEmailAfter(EMAIL, 0, TaskRepository.EXPORT_FETCH_SIZE);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "IDX_TASK_CREATOR_ID", "IDX_TASK_ASSIGNEE_ID");
+    }
+
+    @Test
+    void given_UserTaskSummariesQuery_when_explained_then_pageIdsReadFromIndexesOnly() {
+        taskRepository.findPageIdsByUsersEmail(EMAIL, 10, 20, 30);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "IDX_TASK_CREATOR_ID", "IDX_TASK_ASSIGNEE_ID");
+    }
+
+    @Test
+    void given_UserTaskChangesQuery_when_explained_then_eachBranchReadsItsChangeSeqIndexUpToLimit() {
+        taskRepository.findChangedByUsersEmail(EMAIL, 0, Long.MAX_VALUE, 11);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "IDX_TASK_CREATOR_CHANGE_SEQ", "IDX_TASK_ASSIGNEE_CHANGE_SEQ");
+    }
+
+    @Test
+    void given_FilteredUserTasksQuery_when_explained_then_eachBranchIsFilteredAndLimited() {
+        PageRequest pageable = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "id"));
+        TaskFilter filter = new TaskFilter().setStatus(Status.PENDING);
+
+        taskRepository.findAll(TaskSpecifications.of(EMAIL, filter, pageable), pageable);
+        String plan = explainExecuted();
+
+        int union = plan.indexOf("UNION");
+        assertBranchesLimitedByIndexes(plan, "IDX_TASK_CREATOR_", "IDX_TASK_ASSIGNEE_");
+        assertTrue(plan.substring(0, union).contains("STATUS"), plan);
+        assertTrue(plan.substring(union).contains("STATUS"), plan);
+    }
+
+    @Test
+    void given_OrOverCreatorAndAssignee_when_explained_then_noIndexIsUsed() {
+        // Причина, по которой запросы репозитория переписаны через UNION
+        String plan = explain("SELECT t.* FROM task t WHERE t.assignee = 'test@example.com' " +
+                "OR t.creator = 'test@example.com' ORDER BY t.id DESC LIMIT 10");
+
+        assertTrue(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void given_CommentsOfPageQuery_when_explained_then_usesTaskIdIndex() {
+        String plan = explain("SELECT c.* FROM comment c WHERE c.task_id IN (1, 2, 3)");
+        // H2 сам индексирует внешние ключи и может выбрать свой индекс, PostgreSQL этого не делает,
+        // поэтому дополнительно проверяем, что индекс из миграции существует
+        Integer indexes = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT count(*) FROM information_schema.indexes WHERE index_name = 'IDX_COMMENT_TASK_ID'", Integer.class);
+
+        assertFalse(plan.contains("TABLESCAN"), plan);
+        assertEquals(1, indexes);
+    }
+
+    /**
+     * Запоминает SQL, который Hibernate отправляет в базу
+     */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
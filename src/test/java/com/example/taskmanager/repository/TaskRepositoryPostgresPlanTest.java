@@ -0,0 +1,147 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.controller.dto.TaskFilter;
+import com.example.taskmanager.dao.Status;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Планы запросов списка задач на встроенном PostgreSQL: каждая ветка объединения читает свой индекс по порядку
+ * под собственным Limit, поэтому стоимость страницы не зависит от количества задач пользователя.
+ * Как и в {@link TaskRepositoryIndexTest}, план строится для SQL, который репозиторий отправил в базу;
+ * параметры остаются неизвестными планировщику (EXPLAIN (GENERIC_PLAN)).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.taskmanager.repository.TaskRepositoryIndexTest$RecordingInspector")
+class TaskRepositoryPostgresPlanTest {
+    private static final String EMAIL = "user1@mail.com";
+    private static EmbeddedPostgres postgres;
+    private static boolean seeded;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            // 100 000 задач 1000 авторов и 997 исполнителей со статистикой, как у рабочей базы
+            JdbcTemplate jdbcTemplate = explainTemplate();
+            jdbcTemplate.execute("insert into task (header, creator, assignee, status, priority, version) " +
+                    "select 'header', 'user' || (i % 1000) || '@mail.com', 'user' || (i % 997) || '@mail.com', i % 3, i % 3, 0 " +
+                    "from generate_series(1, 100000) i");
+            jdbcTemplate.execute("analyze task");
+            seeded = true;
+        }
+        TaskRepositoryIndexTest.RecordingInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * Простой протокол: драйвер передает текст с $1, $2 ... как есть, без подготовки запроса
+     */
+    private static JdbcTemplate explainTemplate() {
+        return new JdbcTemplate(postgres.getPostgresDatabase(Map.of("preferQueryMode", "simple")));
+    }
+
+    /**
+     * План первого запроса, выполненного репозиторием в тесте
+     */
+    private static List<String> explainExecuted() {
+        String sql = TaskRepositoryIndexTest.RecordingInspector.STATEMENTS.get(0);
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char ch : sql.toCharArray()) {
+            if (ch == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(ch);
+            }
+        }
+        return explainTemplate().queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class);
+    }
+
+    /**
+     * Каждый индекс читается узлом, который стоит прямо под Limit, полного просмотра таблицы нет
+     */
+    private static void assertBranchesLimitedByIndexes(List<String> plan, String... indexes) {
+        String text = String.join("\n", plan);
+        for (String index : indexes) {
+            int line = -1;
+            for (int i = 0; i < plan.size() && line < 0; i++) {
+                if (plan.get(i).contains("using " + index + " ")) {
+                    line = i;
+                }
+            }
+            assertTrue(line > 0, index + " is not used:\n" + text);
+            assertTrue(plan.get(line - 1).contains("Limit"), index + " is read without a limit:\n" + text);
+        }
+        assertFalse(text.contains("Seq Scan"), text);
+    }
+
+    @Test
+    void given_UserTasksKeysetQuery_when_explained_then_eachBranchReadsItsIndexUnderLimit() {
+        taskRepository.findTasksByUsersEmailBefore(EMAIL, 50_000L, PageRequest.ofSize(10));
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "idx_task_creator_id", "idx_task_assignee_id");
+    }
+
+    @Test
+    void given_UserTasksExportQuery_when_explained_then_eachBranchReadsItsIndexUnderLimit() {
+        taskRepository.findTasksByUsersEmailAfter(EMAIL, 0, TaskRepository.EXPORT_FETCH_SIZE);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "idx_task_creator_id", "idx_task_assignee_id");
+    }
+
+    @Test
+    void given_UserTaskSummariesQuery_when_explained_then_eachBranchReadsItsIndexUnderLimit() {
+        taskRepository.findTaskSummariesByUsersEmail(EMAIL, PageRequest.of(2, 10));
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "idx_task_creator_id", "idx_task_assignee_id");
+    }
+
+    @Test
+    void given_UserTaskChangesQuery_when_explained_then_eachBranchReadsItsIndexUnderLimit() {
+        taskRepository.findChangedByUsersEmail(EMAIL, 0, Long.MAX_VALUE, 11);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "idx_task_creator_change_seq", "idx_task_assignee_change_seq");
+    }
+
+    @Test
+    void given_FilteredUserTasksQuery_when_explained_then_eachBranchReadsItsIndexUnderLimit() {
+        PageRequest pageable = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "priority", "id"));
+
+        taskRepository.findAll(TaskSpecifications.of(EMAIL, new TaskFilter().setStatus(Status.PENDING), pageable), pageable);
+
+        assertBranchesLimitedByIndexes(explainExecuted(), "idx_task_creator_priority", "idx_task_assignee_priority");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+    private static final Instant NOW = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final CachingJwtDecoder sut = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(10), meterRegistry,
+            ticker, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void given_NewDecoder_when_created_then_verificationTimersRegisteredForBothOutcomes() {
+        // when then
+        assertEquals(0, meterRegistry.get(CachingJwtDecoder.VERIFICATION_METRIC).tag("outcome", "success").timer().count());
+        assertEquals(0, meterRegistry.get(CachingJwtDecoder.VERIFICATION_METRIC).tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void given_TokenDecodedBefore_when_decodeInvokedAgain_then_verifiedOnceAndServedFromCache() {
+        // given
+        Jwt jwt = jwt("token", NOW.plusSeconds(300));
+        when(delegate.decode("token")).thenReturn(jwt);
+        // when
+        Jwt first = sut.decode("token");
+        Jwt second = sut.decode("token");
+        // then
+        assertSame(jwt, first);
+        assertSame(jwt, second);
+        verify(delegate, times(1)).decode("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingJwtDecoder.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CachingJwtDecoder.CACHE_NAME).tag("result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get(CachingJwtDecoder.VERIFICATION_METRIC).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void given_CachedToken_when_tokenExpires_then_verifiedAgain() {
+        // given
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.plusSeconds(60)));
+        sut.decode("token");
+        // when
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        sut.decode("token");
+        // then
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void given_LongLivedToken_when_maximumTtlPasses_then_verifiedAgain() {
+        // given
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.plusSeconds(3600)));
+        sut.decode("token");
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        sut.decode("token");
+        // when
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        sut.decode("token");
+        // then
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void given_InvalidToken_when_decodeInvoked_then_exceptionPropagatedAndNotCached() {
+        // given
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid signature"));
+        // when then
+        assertThrows(BadJwtException.class, () -> sut.decode("bad"));
+        assertThrows(BadJwtException.class, () -> sut.decode("bad"));
+        verify(delegate, times(2)).decode("bad");
+        assertEquals(2, meterRegistry.get(CachingJwtDecoder.VERIFICATION_METRIC).tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void given_TokenWithoutExpiry_when_decodeInvokedTwice_then_verifiedEachTime() {
+        // given
+        when(delegate.decode("token")).thenReturn(jwt("token", null));
+        // when
+        sut.decode("token");
+        sut.decode("token");
+        // then
+        verify(delegate, times(2)).decode("token");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("email", "test@example.com")
+                .issuedAt(NOW)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AfterCommitTaskEventSinkTest {
+    private final TaskEventBroadcaster broadcaster = mock(TaskEventBroadcaster.class);
+    private final AfterCommitTaskEventSink sut = new AfterCommitTaskEventSink(broadcaster);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void given_ActiveTransaction_when_publishInvoked_then_eventsDeliveredOnlyAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        sut.publish(List.of(event(1)));
+        // then
+        verify(broadcaster, never()).onTaskChanged(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        verify(broadcaster).onTaskChanged(event(1));
+    }
+
+    @Test
+    void given_NoTransaction_when_publishInvoked_then_eventsDeliveredImmediately() {
+        // when
+        sut.publish(List.of(event(1)));
+        // then
+        verify(broadcaster).onTaskChanged(event(1));
+    }
+
+    private static TaskChangeEvent event(long id) {
+        return new TaskChangeEvent(id, id, "creator@mail.com", null, null, TaskEventType.UPDATED, "creator@mail.com",
+                LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
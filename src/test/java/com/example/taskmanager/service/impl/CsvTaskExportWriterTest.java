@@ -0,0 +1,59 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.controller.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.taskmanager.utils.TestHelper.createTaskResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTaskExportWriterTest {
+
+    @Test
+    void givenTaskWithSpecialCharacters_whenWrite_thenFieldsAreQuoted() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvTaskExportWriter writer = new CsvTaskExportWriter(out, false);
+        TaskResponse task = createTaskResponse(1L)
+                .setHeader("Fix \"login\", again")
+                .setDescription("line1\nline2")
+                .setCreatedAt(LocalDateTime.of(2024, 8, 9, 12, 0));
+
+        writer.write(task);
+        writer.flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,header,description,status,priority,creator,assignee,created_at,version", lines[0]);
+        assertEquals("1,\"Fix \"\"login\"\", again\",\"line1\nline2\",IN_PROGRESS,HIGH,test@example.com,assignee@example.com,2024-08-09T12:00,0", lines[1]);
+    }
+
+    @Test
+    void givenTaskWithComments_whenWriteWithComments_thenWritesRowPerComment() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvTaskExportWriter writer = new CsvTaskExportWriter(out, true);
+
+        writer.write(createTaskResponse(1L));
+        writer.write(createTaskResponse(2L).setComments(List.of()));
+        writer.flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].endsWith(",comment_id,comment_author,comment_body,comment_created_at"));
+        assertTrue(lines[1].startsWith("1,") && lines[1].contains(",1,author1@example.com,First comment,"));
+        assertTrue(lines[2].startsWith("1,") && lines[2].contains(",2,author2@example.com,Second comment,"));
+        assertTrue(lines[3].startsWith("2,") && lines[3].endsWith(",,,,"));
+    }
+
+    @Test
+    void givenNoTasks_whenFlush_thenWritesOnlyHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvTaskExportWriter writer = new CsvTaskExportWriter(out, false);
+
+        writer.flush();
+
+        assertEquals("id,header,description,status,priority,creator,assignee,created_at,version\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
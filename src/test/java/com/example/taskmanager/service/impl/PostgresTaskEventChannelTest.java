@@ -0,0 +1,114 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Два экземпляра приложения на одной встроенной базе PostgreSQL: каждый со своим каналом и своими подписчиками
+ */
+class PostgresTaskEventChannelTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TaskEventBroadcaster publisherBroadcaster = mock(TaskEventBroadcaster.class);
+    private final TaskEventBroadcaster otherBroadcaster = mock(TaskEventBroadcaster.class);
+    private EmbeddedPostgres postgres;
+    private TransactionTemplate transactionTemplate;
+    private PostgresTaskEventChannel publisher;
+    private PostgresTaskEventChannel other;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        publisher = new PostgresTaskEventChannel(dataSource, objectMapper, publisherBroadcaster);
+        other = new PostgresTaskEventChannel(dataSource, objectMapper, otherBroadcaster);
+        publisher.start();
+        other.start();
+        awaitListeners(dataSource, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        publisher.stop();
+        other.stop();
+        postgres.close();
+    }
+
+    @Test
+    void given_TwoInstances_when_batchPublishedAndCommitted_then_bothInstancesReceiveEventsInOrder() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                publisher.publish(List.of(event(1), event(2)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // then
+        for (TaskEventBroadcaster broadcaster : List.of(publisherBroadcaster, otherBroadcaster)) {
+            verify(broadcaster, timeout(5000)).onTaskChanged(event(2));
+            InOrder inOrder = inOrder(broadcaster);
+            inOrder.verify(broadcaster).onTaskChanged(event(1));
+            inOrder.verify(broadcaster).onTaskChanged(event(2));
+        }
+    }
+
+    @Test
+    void given_TwoInstances_when_publishingTransactionRolledBack_then_noInstanceReceivesEvents() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                publisher.publish(List.of(event(1)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+        // then
+        verify(publisherBroadcaster, after(1000).never()).onTaskChanged(any());
+        verify(otherBroadcaster, never()).onTaskChanged(any());
+    }
+
+    /**
+     * LISTEN выполняется в потоке канала, поэтому ждем, пока оба соединения начнут слушать
+     */
+    private static void awaitListeners(DataSource dataSource, int count) throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Integer listening = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE query = ?",
+                    Integer.class, "LISTEN " + PostgresTaskEventChannel.CHANNEL);
+            if (listening != null && listening >= count) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Task stream listeners have not started");
+    }
+
+    private static TaskChangeEvent event(long id) {
+        return new TaskChangeEvent(id, id, "creator@mail.com", "assignee@mail.com", "previous@mail.com",
+                TaskEventType.ASSIGNEE_CHANGED, "creator@mail.com", LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
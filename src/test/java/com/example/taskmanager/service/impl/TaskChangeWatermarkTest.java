@@ -0,0 +1,49 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskChangeWatermarkTest {
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final Clock clock = mock(Clock.class);
+    private final TaskChangeWatermark sut = new TaskChangeWatermark(taskRepository, Duration.ofSeconds(15), clock);
+
+    @Test
+    void given_NoSampleOlderThanLag_when_upToInvoked_then_returnsZero() {
+        // given
+        sample(Instant.parse("2026-01-01T00:00:00Z"), 10);
+        when(clock.instant()).thenReturn(Instant.parse("2026-01-01T00:00:14Z"));
+        // when then
+        assertEquals(0, sut.upTo());
+    }
+
+    @Test
+    void given_SamplesOverTime_when_upToInvoked_then_returnsNumberBelowNewestSampleOlderThanLag() {
+        // given
+        sample(Instant.parse("2026-01-01T00:00:00Z"), 10);
+        sample(Instant.parse("2026-01-01T00:00:05Z"), 20);
+        sample(Instant.parse("2026-01-01T00:00:10Z"), 30);
+        // when
+        when(clock.instant()).thenReturn(Instant.parse("2026-01-01T00:00:20Z"));
+        long afterFirstTwo = sut.upTo();
+        when(clock.instant()).thenReturn(Instant.parse("2026-01-01T00:01:00Z"));
+        long afterAll = sut.upTo();
+        // then
+        assertEquals(19, afterFirstTwo);
+        assertEquals(29, afterAll);
+    }
+
+    private void sample(Instant at, long next) {
+        when(taskRepository.nextChangeSeq()).thenReturn(next);
+        when(clock.instant()).thenReturn(at);
+        sut.sample();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.dao.Status;
+import com.example.taskmanager.dao.TaskCounterId;
+import com.example.taskmanager.dao.TaskRole;
+import com.example.taskmanager.dao.TaskSnapshot;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskCounterServiceImplTest {
+    private final TaskCounterRepository taskCounterRepository = mock(TaskCounterRepository.class);
+    private final TaskCounterServiceImpl sut = new TaskCounterServiceImpl(taskCounterRepository);
+    private final List<TaskCounterId> applied = new ArrayList<>();
+
+    @Test
+    void given_ChangeOfManyTasks_when_onChangedInvoked_then_countersUpdatedInLockOrder() {
+        // given
+        doAnswer(invocation -> {
+            applied.add(new TaskCounterId(invocation.getArgument(0),
+                    TaskRole.values()[invocation.<Integer>getArgument(1)], Status.values()[invocation.<Integer>getArgument(2)]));
+            return 1;
+        }).when(taskCounterRepository).addDelta(anyString(), anyInt(), anyInt(), anyLong());
+        List<TaskSnapshot> before = new ArrayList<>();
+        List<TaskSnapshot> after = new ArrayList<>();
+        for (long id = 0; id < 40; id++) {
+            String creator = "user" + (39 - id) + "@mail.com";
+            String assignee = "user" + (id % 7) + "@mail.com";
+            before.add(new TaskSnapshot(id, creator, assignee, Status.PENDING));
+            after.add(new TaskSnapshot(id, creator, assignee, Status.values()[(int) (id % 3)]));
+        }
+        // when
+        sut.onChanged(before, after);
+        // then
+        List<TaskCounterId> sorted = new ArrayList<>(applied);
+        sorted.sort(TaskCounterId.LOCK_ORDER);
+        assertEquals(sorted, applied);
+        assertEquals(applied.size(), applied.stream().distinct().count());
+    }
+
+    @Test
+    void given_CountersDriftedFromTasks_when_reconcileInvoked_then_onlyDriftAddedInLockOrder() {
+        // given
+        when(taskCounterRepository.findDrift()).thenReturn(List.of(
+                drift("b@mail.com", TaskRole.ASSIGNEE, Status.PENDING, 2),
+                drift("a@mail.com", TaskRole.CREATOR, Status.COMPLETED, -5)));
+        // when
+        int corrected = sut.reconcile();
+        // then
+        assertEquals(2, corrected);
+        InOrder inOrder = inOrder(taskCounterRepository);
+        inOrder.verify(taskCounterRepository).addDelta("a@mail.com", TaskRole.CREATOR.ordinal(), Status.COMPLETED.ordinal(), -5);
+        inOrder.verify(taskCounterRepository).addDelta("b@mail.com", TaskRole.ASSIGNEE.ordinal(), Status.PENDING.ordinal(), 2);
+    }
+
+    private static TaskCounterRepository.CounterDrift drift(String email, TaskRole role, Status status, long delta) {
+        return new TaskCounterRepository.CounterDrift() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public int getRole() {
+                return role.ordinal();
+            }
+
+            @Override
+            public int getStatus() {
+                return status.ordinal();
+            }
+
+            @Override
+            public long getDelta() {
+                return delta;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskEventBroadcasterTest {
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Clock clock = mock(Clock.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<Runnable> pendingDrains = new ArrayDeque<>();
+
+    @Test
+    void given_SubscribersOfDifferentUsers_when_taskChanged_then_onlyCreatorAndAssigneeReceiveEvent() {
+        // given
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(16, SEND_TIMEOUT, meterRegistry, Runnable::run, RecordingEmitter::new, clock);
+        RecordingEmitter creator = (RecordingEmitter) sut.subscribe("creator@mail.com");
+        RecordingEmitter assignee = (RecordingEmitter) sut.subscribe("assignee@mail.com");
+        RecordingEmitter other = (RecordingEmitter) sut.subscribe("other@mail.com");
+        // when
+        sut.onTaskChanged(event(1, "creator@mail.com", "assignee@mail.com"));
+        sut.onTaskChanged(event(2, "creator@mail.com", "creator@mail.com"));
+        // then
+        assertEquals(List.of(event(1, "creator@mail.com", "assignee@mail.com"), event(2, "creator@mail.com", "creator@mail.com")), creator.data);
+        assertEquals(List.of(event(1, "creator@mail.com", "assignee@mail.com")), assignee.data);
+        assertTrue(other.data.isEmpty());
+        assertEquals(3.0, meterRegistry.get(TaskEventBroadcaster.SUBSCRIBERS_METRIC).gauge().value());
+    }
+
+    @Test
+    void given_SubscribedPreviousAssignee_when_assigneeChanged_then_previousAssigneeReceivesEventOnce() {
+        // given
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(16, SEND_TIMEOUT, meterRegistry, Runnable::run, RecordingEmitter::new, clock);
+        RecordingEmitter previous = (RecordingEmitter) sut.subscribe("previous@mail.com");
+        RecordingEmitter assignee = (RecordingEmitter) sut.subscribe("assignee@mail.com");
+        RecordingEmitter creator = (RecordingEmitter) sut.subscribe("creator@mail.com");
+        // when
+        sut.onTaskChanged(reassigned(1, "creator@mail.com", "assignee@mail.com", "previous@mail.com"));
+        sut.onTaskChanged(reassigned(2, "creator@mail.com", null, "assignee@mail.com"));
+        sut.onTaskChanged(reassigned(3, "creator@mail.com", "assignee@mail.com", "creator@mail.com"));
+        // then
+        assertEquals(List.of(reassigned(1, "creator@mail.com", "assignee@mail.com", "previous@mail.com")), previous.data);
+        assertEquals(List.of(reassigned(1, "creator@mail.com", "assignee@mail.com", "previous@mail.com"),
+                reassigned(2, "creator@mail.com", null, "assignee@mail.com"),
+                reassigned(3, "creator@mail.com", "assignee@mail.com", "creator@mail.com")), assignee.data);
+        assertEquals(3, creator.data.size());
+    }
+
+    @Test
+    void given_SlowSubscriber_when_bufferOverflows_then_oldestEventsDroppedAndOverflowReported() {
+        // given
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(2, SEND_TIMEOUT, meterRegistry, pendingDrains::add, RecordingEmitter::new, clock);
+        RecordingEmitter emitter = (RecordingEmitter) sut.subscribe("creator@mail.com");
+        // when
+        for (int id = 1; id <= 5; id++) {
+            sut.onTaskChanged(event(id, "creator@mail.com", null));
+        }
+        pendingDrains.forEach(Runnable::run);
+        // then
+        assertEquals(1, pendingDrains.size());
+        assertEquals(List.of(Map.of("dropped", 3L), event(4, "creator@mail.com", null), event(5, "creator@mail.com", null)), emitter.data);
+        assertEquals(3.0, meterRegistry.get(TaskEventBroadcaster.DROPPED_METRIC).counter().count());
+    }
+
+    @Test
+    void given_DisconnectedSubscriber_when_sendFails_then_subscriberRemoved() {
+        // given
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(16, SEND_TIMEOUT, meterRegistry, Runnable::run, RecordingEmitter::new, clock);
+        RecordingEmitter emitter = (RecordingEmitter) sut.subscribe("creator@mail.com");
+        emitter.disconnected = true;
+        // when
+        sut.onTaskChanged(event(1, "creator@mail.com", null));
+        // then
+        assertEquals(0, sut.subscriberCount());
+    }
+
+    @Test
+    void given_Subscribers_when_invalidateInvoked_then_everySubscriberReceivesOverflow() {
+        // given
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(16, SEND_TIMEOUT, meterRegistry, Runnable::run, RecordingEmitter::new, clock);
+        RecordingEmitter creator = (RecordingEmitter) sut.subscribe("creator@mail.com");
+        RecordingEmitter assignee = (RecordingEmitter) sut.subscribe("assignee@mail.com");
+        // when
+        sut.invalidate();
+        // then
+        assertEquals(List.of(Map.of("dropped", 1L)), creator.data);
+        assertEquals(List.of(Map.of("dropped", 1L)), assignee.data);
+    }
+
+    @Test
+    void given_SubscriberNotReadingResponse_when_sendBlockedLongerThanTimeout_then_subscriberEvictedAndSenderReleased()
+            throws InterruptedException {
+        // given
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Queue<SseEmitter> emitters = new ArrayDeque<>(List.of(new BlockedEmitter(), new RecordingEmitter()));
+        TaskEventBroadcaster sut = new TaskEventBroadcaster(16, SEND_TIMEOUT, meterRegistry, executor, emitters::poll, clock);
+        BlockedEmitter stalled = (BlockedEmitter) sut.subscribe("creator@mail.com");
+        sut.subscribe("assignee@mail.com");
+        when(clock.millis()).thenReturn(0L);
+        sut.onTaskChanged(event(1, "creator@mail.com", "assignee@mail.com"));
+        assertTrue(stalled.sending.await(5, TimeUnit.SECONDS));
+        // when
+        when(clock.millis()).thenReturn(SEND_TIMEOUT.toMillis() - 1);
+        sut.evictStalled();
+        int beforeTimeout = sut.subscriberCount();
+        when(clock.millis()).thenReturn(SEND_TIMEOUT.toMillis() + 1);
+        sut.evictStalled();
+        // then
+        assertEquals(2, beforeTimeout);
+        assertEquals(1, sut.subscriberCount());
+        assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get(TaskEventBroadcaster.STALLED_METRIC).counter().count());
+        executor.shutdownNow();
+    }
+
+    private static TaskChangeEvent event(long id, String creator, String assignee) {
+        return new TaskChangeEvent(id, id, creator, assignee, null, TaskEventType.UPDATED, creator, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private static TaskChangeEvent reassigned(long id, String creator, String assignee, String previousAssignee) {
+        return new TaskChangeEvent(id, id, creator, assignee, previousAssignee, TaskEventType.ASSIGNEE_CHANGED, creator,
+                LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Object> data = new ArrayList<>();
+        private boolean disconnected;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .filter(part -> !(part.getData() instanceof String))
+                    .forEach(part -> data.add(part.getData()));
+        }
+    }
+
+    /**
+     * Клиент, который не читает ответ: отправка блокируется до прерывания потока
+     */
+    private static class BlockedEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IOException("Write interrupted", e);
+            }
+        }
+    }
+}
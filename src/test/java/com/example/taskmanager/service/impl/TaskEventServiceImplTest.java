@@ -0,0 +1,128 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.configuration.OutboxConfig;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.repository.TaskEventRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.api.TaskChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.taskmanager.utils.TestHelper.createTask;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Публикация событий outbox получателем IN_PROCESS. Каждый шаг выполняется в собственной транзакции,
+ * как в приложении, чтобы проверить откат пакета при ошибке получателя.
+ */
+@DataJpaTest(properties = "app.outbox.batch-size=2")
+@Import({TaskEventServiceImpl.class, OutboxConfig.class, TaskEventServiceImplTest.RecordingListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskEventServiceImplTest {
+    @Autowired
+    private TaskEventServiceImpl sut;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RecordingListener listener;
+
+    @AfterEach
+    void tearDown() {
+        taskEventRepository.deleteAll();
+        taskRepository.deleteAll();
+        listener.events.clear();
+        listener.fail = false;
+    }
+
+    @Test
+    void given_EventsRecordedForTasks_when_relayInvoked_then_publishedInBatchesInOrderAndRemoved() {
+        // given
+        Long first = taskRepository.save(createTask(null)).getId();
+        Long second = taskRepository.save(createTask(null)).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            sut.record(TaskEventType.CREATED, List.of(first, second, second + 100));
+            sut.record(TaskEventType.STATUS_CHANGED, List.of(first));
+        });
+        // when
+        int firstBatch = sut.relay();
+        int secondBatch = sut.relay();
+        int thirdBatch = sut.relay();
+        // then
+        assertEquals(2, firstBatch);
+        assertEquals(1, secondBatch);
+        assertEquals(0, thirdBatch);
+        assertEquals(List.of(first, second, first), listener.events.stream().map(TaskChangeEvent::taskId).toList());
+        assertEquals(List.of(TaskEventType.CREATED, TaskEventType.CREATED, TaskEventType.STATUS_CHANGED),
+                listener.events.stream().map(TaskChangeEvent::type).toList());
+        assertTrue(listener.events.get(0).id() < listener.events.get(1).id());
+        assertEquals(0, taskEventRepository.count());
+    }
+
+    @Test
+    void given_SinkFails_when_relayInvoked_then_eventsStayInOutbox() {
+        // given
+        Long id = taskRepository.save(createTask(null)).getId();
+        transactionTemplate.executeWithoutResult(status -> sut.record(TaskEventType.DELETED, List.of(id)));
+        listener.fail = true;
+        // when
+        assertThrows(IllegalStateException.class, () -> sut.relay());
+        // then
+        assertEquals(1, taskEventRepository.count());
+        listener.fail = false;
+        assertEquals(1, sut.relay());
+        assertEquals(TaskEventType.DELETED, listener.events.get(listener.events.size() - 1).type());
+    }
+
+    @Test
+    void given_ReassignmentRecordedBeforeUpdate_when_relayInvoked_then_eventCarriesPreviousAssignee() {
+        // given
+        Long id = taskRepository.save(createTask(null)).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            sut.recordReassignment(TaskEventType.ASSIGNEE_CHANGED, List.of(id), "new@mail.com");
+            taskRepository.updateAssignee(List.of(id), "new@mail.com");
+        });
+        // when
+        sut.relay();
+        // then
+        TaskChangeEvent event = listener.events.get(0);
+        assertEquals(TaskEventType.ASSIGNEE_CHANGED, event.type());
+        assertEquals("new@mail.com", event.assignee());
+        assertEquals("assignee@mail.com", event.previousAssignee());
+    }
+
+    @Test
+    void given_NoTransaction_when_recordInvoked_then_throwsException() {
+        // when then
+        assertThrows(IllegalTransactionStateException.class, () -> sut.record(TaskEventType.CREATED, List.of(1L)));
+    }
+
+    @TestConfiguration
+    static class RecordingListener {
+        private final List<TaskChangeEvent> events = new ArrayList<>();
+        private boolean fail;
+
+        @EventListener
+        void on(TaskChangeEvent event) {
+            if (fail) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            events.add(event);
+        }
+    }
+}
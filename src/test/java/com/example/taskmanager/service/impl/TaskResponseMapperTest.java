@@ -15,7 +15,7 @@ class TaskResponseMapperTest {
 
     @BeforeEach
     void setUp() {
-        taskResponseMapper = new TaskResponseMapper();
+        taskResponseMapper = new TaskResponseMapper(new CommentResponseMapper());
     }
 
     @Test
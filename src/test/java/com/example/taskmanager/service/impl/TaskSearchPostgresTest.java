@@ -0,0 +1,139 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.configuration.CacheConfig;
+import com.example.taskmanager.configuration.OutboxConfig;
+import com.example.taskmanager.configuration.SearchConfig;
+import com.example.taskmanager.configuration.TaskChangesConfig;
+import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.api.TaskSearchIndex;
+import com.example.taskmanager.service.api.TaskSearchResult;
+import com.example.taskmanager.utils.UserUtils;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.taskmanager.utils.TestHelper.createTaskRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Полнотекстовый поиск на встроенном PostgreSQL: миграции db/vendor/postgresql, tsvector колонки и их
+ * обновление сервисом при записи. Остальные тесты работают на H2, где используется {@link LikeTaskSearchIndex}.
+ */
+@DataJpaTest
+@Import({TaskServiceImpl.class, TaskResponseMapper.class, CommentResponseMapper.class, CacheConfig.class, SearchConfig.class, TaskCounterServiceImpl.class, OutboxConfig.class, TaskEventServiceImpl.class, TaskChangesConfig.class})
+class TaskSearchPostgresTest {
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskServiceImpl sut;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    private MockedStatic<UserUtils> mockedStatic;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockedStatic = Mockito.mockStatic(UserUtils.class);
+        mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStatic.close();
+    }
+
+    @Test
+    void given_PostgresDatabase_when_contextStarts_then_tsvectorIndexIsUsed() {
+        assertInstanceOf(PostgresTaskSearchIndex.class, taskSearchIndex);
+    }
+
+    @Test
+    void given_TasksWrittenThroughService_when_searchTasksInvoked_then_rankedByMatchedField() {
+        // given
+        Task inDescription = sut.createTask(createTaskRequest().setHeader("Budget").setDescription("prepare the report for the quarter"));
+        Task inHeader = sut.createTask(createTaskRequest().setHeader("Quarterly report").setDescription("numbers"));
+        Task inComment = sut.createTask(createTaskRequest().setHeader("Meeting").setDescription("agenda"));
+        sut.addComment(inComment.getId(), "discuss the report");
+        sut.createTask(createTaskRequest().setHeader("Unrelated").setDescription("nothing here"));
+        // when
+        Slice<TaskSearchResult> slice = sut.searchTasks("report", null, 10);
+        // then
+        assertEquals(List.of(inHeader.getId(), inDescription.getId(), inComment.getId()),
+                slice.map(result -> result.task().getId()).getContent());
+        assertTrue(slice.getContent().get(0).rank() > slice.getContent().get(1).rank());
+        assertTrue(slice.getContent().get(1).rank() > slice.getContent().get(2).rank());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void given_UpdatedTask_when_searchTasksInvoked_then_searchVectorFollowsNewText() {
+        // given
+        Task task = sut.createTask(createTaskRequest().setHeader("Draft invoice").setDescription("description"));
+        // when
+        sut.updateTask(task.getId(), createTaskRequest().setHeader("Final contract").setDescription("description"), null);
+        // then
+        assertTrue(sut.searchTasks("invoice", null, 10).isEmpty());
+        assertEquals(task.getId(), sut.searchTasks("contract", null, 10).getContent().get(0).task().getId());
+    }
+
+    @Test
+    void given_EqualRanks_when_searchTasksInvokedWithCursor_then_pagesWithoutGapsOrDuplicates() {
+        // given
+        List<Long> ids = sut.createTasks(List.of(
+                createTaskRequest().setHeader("Release notes"),
+                createTaskRequest().setHeader("Release notes"),
+                createTaskRequest().setHeader("Release notes"))).stream().map(Task::getId).toList();
+        // when
+        Slice<TaskSearchResult> firstSlice = sut.searchTasks("release", null, 2);
+        Slice<TaskSearchResult> secondSlice = sut.searchTasks("release", firstSlice.getContent().get(1).toCursor(), 2);
+        // then
+        assertTrue(firstSlice.hasNext());
+        assertFalse(secondSlice.hasNext());
+        assertEquals(List.of(ids.get(2), ids.get(1), ids.get(0)), List.of(
+                firstSlice.getContent().get(0).task().getId(),
+                firstSlice.getContent().get(1).task().getId(),
+                secondSlice.getContent().get(0).task().getId()));
+    }
+
+    @Test
+    void given_TaskOfAnotherUser_when_searchTasksInvoked_then_notReturned() {
+        // given
+        Task task = sut.createTask(createTaskRequest().setHeader("Secret roadmap").setAssignee("other@example.com"));
+        taskRepository.save(task.setCreator("other@example.com"));
+        taskRepository.flush();
+        // when then
+        assertTrue(sut.searchTasks("roadmap", null, 10).isEmpty());
+    }
+}
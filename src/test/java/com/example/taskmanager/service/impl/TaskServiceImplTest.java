@@ -1,45 +1,117 @@
 package com.example.taskmanager.service.impl;
 
+import com.example.taskmanager.configuration.CacheConfig;
+import com.example.taskmanager.configuration.OutboxConfig;
+import com.example.taskmanager.configuration.SearchConfig;
+import com.example.taskmanager.controller.dto.BulkTaskResult;
+import com.example.taskmanager.controller.dto.TaskFilter;
 import com.example.taskmanager.controller.dto.TaskRequest;
+import com.example.taskmanager.controller.dto.TaskResponse;
+import com.example.taskmanager.controller.dto.TaskSortField;
+import com.example.taskmanager.controller.dto.TaskStatsResponse;
+import com.example.taskmanager.controller.dto.TaskSummaryResponse;
+import com.example.taskmanager.dao.Comment;
+import com.example.taskmanager.dao.Priority;
 import com.example.taskmanager.dao.Status;
 import com.example.taskmanager.dao.Task;
+import com.example.taskmanager.dao.TaskEvent;
+import com.example.taskmanager.dao.TaskEventType;
+import com.example.taskmanager.dao.TaskRole;
+import com.example.taskmanager.dao.TaskVersion;
 import com.example.taskmanager.exception.NotAuthorizedException;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.TaskVersionMismatchException;
 import com.example.taskmanager.exception.UserEmailException;
+import com.example.taskmanager.repository.TaskCounterRepository;
+import com.example.taskmanager.repository.TaskEventRepository;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskSpecifications;
+import com.example.taskmanager.service.api.TaskChanges;
+import com.example.taskmanager.service.api.TaskExportWriter;
+import com.example.taskmanager.service.api.TaskSearchResult;
 import com.example.taskmanager.utils.UserUtils;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static com.example.taskmanager.utils.TestHelper.createComment;
 import static com.example.taskmanager.utils.TestHelper.createTask;
 import static com.example.taskmanager.utils.TestHelper.createTaskRequest;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @DataJpaTest
-@Import(TaskServiceImpl.class)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({TaskServiceImpl.class, TaskResponseMapper.class, CommentResponseMapper.class, CacheConfig.class, SearchConfig.class, TaskCounterServiceImpl.class, OutboxConfig.class, TaskEventServiceImpl.class})
 @Transactional
 class TaskServiceImplTest {
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
     private TaskServiceImpl sut;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+    @Autowired
+    private TaskCounterServiceImpl taskCounterService;
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private TaskChangeWatermark taskChangeWatermark;
 
+    @BeforeEach
+    void setUp() {
+        when(taskChangeWatermark.upTo()).thenReturn(Long.MAX_VALUE);
+    }
 
     @AfterEach
     void tearDown() {
         taskRepository.deleteAll();
+        taskCounterRepository.deleteAll();
+        taskEventRepository.deleteAll();
     }
 
     @Test
@@ -58,6 +130,37 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_TaskExistsInDB_when_getTaskResponseByIdInvokedTwice_then_secondCallIsServedFromCache() {
+        // given
+        Task task = taskRepository.save(createTask(null));
+        Long id = task.getId();
+        // when
+        TaskResponse firstResult = sut.getTaskResponseById(id);
+        TaskResponse secondResult = sut.getTaskResponseById(id);
+        // then
+        assertEquals(id, firstResult.getId());
+        assertSame(firstResult, secondResult);
+    }
+
+    @Test
+    void given_CachedTaskResponse_when_changeStatusInvoked_then_cachedResponseIsEvicted() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task task = taskRepository.save(createTask(null));
+            Long id = task.getId();
+            TaskResponse cachedResult = sut.getTaskResponseById(id);
+            // when
+            sut.changeStatus(id, Status.COMPLETED, null);
+            sut.appendComment(id, "comment");
+            TaskResponse actualResult = sut.getTaskResponseById(id);
+            // then
+            assertNotSame(cachedResult, actualResult);
+            assertEquals(Status.COMPLETED, actualResult.getStatus());
+        }
+    }
+
     @Test
     void given_TaskAndIdDoesNotExistsInDB_when_getTaskByIdInvoked_then_throwsTaskNotFoundException() {
         // given
@@ -83,6 +186,29 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_HundredTaskRequests_when_createTasksInvoked_then_insertsInJdbcBatches() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            List<TaskRequest> taskRequests = Collections.nCopies(100, createTaskRequest());
+            taskCounterRepository.addDelta("test@example.com", TaskRole.CREATOR.ordinal(), Status.IN_PROGRESS.ordinal(), 0);
+            taskCounterRepository.addDelta("assignee@mail.com", TaskRole.ASSIGNEE.ordinal(), Status.IN_PROGRESS.ordinal(), 0);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            // when
+            List<Task> actualResult = sut.createTasks(taskRequests);
+            entityManager.flush();
+            // then
+            assertEquals(100, actualResult.size());
+            assertTrue(actualResult.stream().allMatch(task -> task.getId() != null && "test@example.com".equals(task.getCreator())));
+            assertEquals(100, statistics.getEntityInsertCount());
+            // 2 пула id из последовательности и 2 пакета вставок по 50 строк вместо 100 отдельных insert,
+            // плюс по одному UPDATE на каждый затронутый счетчик (автор и исполнитель в одном статусе, счетчики уже созданы)
+            assertTrue(statistics.getPrepareStatementCount() <= 6, "statements: " + statistics.getPrepareStatementCount());
+        }
+    }
+
     @Test
     void given_TaskRequestWithInvalidCreatorEmail_when_createTaskInvoked_then_throwsUserEmailException() {
         // given
@@ -105,7 +231,7 @@ class TaskServiceImplTest {
             Long id = task.getId();
             TaskRequest taskRequest = createTaskRequest();
             // when
-            Task actualResult = sut.updateTask(id, taskRequest);
+            Task actualResult = sut.updateTask(id, taskRequest, null);
             // then
             assertNotNull(actualResult);
             assertNotNull(actualResult.getId());
@@ -123,7 +249,7 @@ class TaskServiceImplTest {
             Long id = task.getId();
             TaskRequest taskRequest = createTaskRequest();
             // when then
-            assertThrows(NotAuthorizedException.class, () -> sut.updateTask(id, taskRequest));
+            assertThrows(NotAuthorizedException.class, () -> sut.updateTask(id, taskRequest, null));
         }
     }
 
@@ -145,6 +271,70 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_TaskWithCommentsInDB_when_deleteTaskInvoked_then_deletedWithoutLoadingTaskOrComments() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task task = createTask(null);
+            task.getComments().add(createComment(task, "first"));
+            task.getComments().add(createComment(task, "second"));
+            Long id = taskRepository.save(task).getId();
+            entityManager.flush();
+            entityManager.clear();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            // when
+            sut.deleteTask(id);
+            // then
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(0, statistics.getCollectionLoadCount());
+            assertFalse(taskRepository.existsById(id));
+            assertEquals(0, countComments());
+        }
+    }
+
+    @Test
+    void given_TasksWithDifferentCreators_when_deleteTasksInvoked_then_onlyOwnTasksAreDeleted() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task own = createTask(null).setStatus(Status.PENDING);
+            own.getComments().add(createComment(own, "comment"));
+            own = taskRepository.save(own);
+            Task foreign = taskRepository.save(createTask(null).setCreator("other@mail.com").setAssignee("test@example.com"));
+            entityManager.flush();
+            entityManager.clear();
+            taskCounterService.reconcile();
+            Long missingId = foreign.getId() + 100;
+            // when
+            List<BulkTaskResult> results = sut.deleteTasks(List.of(own.getId(), foreign.getId(), missingId));
+            // then
+            assertEquals(List.of(
+                    new BulkTaskResult(own.getId(), BulkTaskResult.Outcome.DELETED),
+                    new BulkTaskResult(foreign.getId(), BulkTaskResult.Outcome.FORBIDDEN),
+                    new BulkTaskResult(missingId, BulkTaskResult.Outcome.NOT_FOUND)), results);
+            assertFalse(taskRepository.existsById(own.getId()));
+            assertTrue(taskRepository.existsById(foreign.getId()));
+            assertEquals(0, countComments());
+            assertEquals(0L, sut.getTaskStats().getCreated().get(Status.PENDING));
+        }
+    }
+
+    @Test
+    void given_TaskWithCommentsInDB_when_taskRowDeletedDirectly_then_commentsAreDeletedByForeignKeyCascade() {
+        // given
+        Task task = createTask(null);
+        task.getComments().add(createComment(task, "comment"));
+        Long id = taskRepository.save(task).getId();
+        entityManager.flush();
+        entityManager.clear();
+        // when
+        entityManager.getEntityManager().createNativeQuery("delete from task where id = :id").setParameter("id", id).executeUpdate();
+        // then
+        assertEquals(0, countComments());
+    }
+
     @Test
     void given_TaskIdAndDoesNotExistInDB_when_deleteTaskInvoked_then_throwsTaskNotFoundException() {
         // given
@@ -178,7 +368,7 @@ class TaskServiceImplTest {
             task = taskRepository.save(task);
             Long id = task.getId();
             // when
-            Task actualResult = sut.changeStatus(id, Status.COMPLETED);
+            Task actualResult = sut.changeStatus(id, Status.COMPLETED, null);
             // then
             assertNotNull(actualResult);
             assertNotNull(actualResult.getId());
@@ -187,13 +377,60 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_TaskWithCommentsInDB_when_changeStatusInvoked_then_readsOnceAndUpdatesWithSingleStatement() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task task = createTask(null);
+            task.getComments().add(createComment(task, "comment"));
+            task = taskRepository.save(task);
+            Long id = task.getId();
+            long version = task.getVersion();
+            entityManager.flush();
+            entityManager.clear();
+            for (Status status : List.of(Status.IN_PROGRESS, Status.COMPLETED)) {
+                taskCounterRepository.addDelta("test@example.com", TaskRole.CREATOR.ordinal(), status.ordinal(), 0);
+                taskCounterRepository.addDelta("assignee@mail.com", TaskRole.ASSIGNEE.ordinal(), status.ordinal(), 0);
+            }
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            // when
+            Task actualResult = sut.changeStatus(id, Status.COMPLETED, version);
+            // then
+            assertTrue(Hibernate.isInitialized(actualResult.getComments()));
+            assertEquals(1, actualResult.getComments().size());
+            assertEquals(version + 1, actualResult.getVersion());
+            assertEquals(0, statistics.getEntityUpdateCount());
+            // SELECT задачи с комментариями, UPDATE, 4 UPDATE уже созданных счетчиков (автор и исполнитель, старый и новый статус)
+            // и INSERT события в outbox
+            assertEquals(7, statistics.getPrepareStatementCount());
+            assertEquals(version + 1, taskRepository.findVersionById(id).orElseThrow());
+        }
+    }
+
+    @Test
+    void given_TaskAlreadyHasStatus_when_changeStatusInvoked_then_versionIsNotIncremented() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task task = taskRepository.save(createTask(null).setStatus(Status.COMPLETED));
+            long version = task.getVersion();
+            // when
+            Task actualResult = sut.changeStatus(task.getId(), Status.COMPLETED, null);
+            // then
+            assertEquals(version, actualResult.getVersion());
+            assertEquals(version, taskRepository.findVersionById(task.getId()).orElseThrow());
+        }
+    }
+
     @Test
     void given_TaskWithIdAndDoesNotExistInDB_when_changeStatusInvoked_then_throwsTaskNotFoundException() {
         // given
         try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
             mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
             // when then
-            assertThrows(TaskNotFoundException.class, () -> sut.changeStatus(1L, Status.COMPLETED));
+            assertThrows(TaskNotFoundException.class, () -> sut.changeStatus(1L, Status.COMPLETED, null));
         }
     }
 
@@ -202,11 +439,10 @@ class TaskServiceImplTest {
         // given
         try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
             mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("me@example.com"));
-            Task task = createTask(1L);
-            taskRepository.save(task);
+            Task task = taskRepository.save(createTask(null));
             Long id = task.getId();
             // when then
-            assertThrows(NotAuthorizedException.class, () -> sut.changeStatus(id, Status.COMPLETED));
+            assertThrows(NotAuthorizedException.class, () -> sut.changeStatus(id, Status.COMPLETED, null));
         }
     }
 
@@ -228,6 +464,23 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_TaskWithAssignee_when_setAssigneeInvoked_then_eventRecordsPreviousAssignee() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Long id = taskRepository.save(createTask(null)).getId();
+            // when
+            sut.setAssignee(id, "new@mail.com");
+            // then
+            List<TaskEvent> events = taskEventRepository.findAll().stream().filter(event -> id.equals(event.getTaskId())).toList();
+            assertEquals(1, events.size());
+            assertEquals(TaskEventType.ASSIGNEE_CHANGED, events.get(0).getType());
+            assertEquals("new@mail.com", events.get(0).getAssignee());
+            assertEquals("assignee@mail.com", events.get(0).getPreviousAssignee());
+        }
+    }
+
     @Test
     void given_TaskWithIdAndDoesNotExistInDB_when_setAssigneeInvoked_then_throwsTaskNotFoundException() {
         // given
@@ -252,16 +505,16 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void given_ValidEmailAndPageable_when_getAllTasksByUserInvoked_then_returnsTaskPage() {
+    void given_ValidEmailAndPageable_when_getTasksOfUserInvoked_then_returnsTaskPage() {
         // given
         try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
             String email = "test@example.com";
             mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of(email));
-            Pageable pageable = PageRequest.of(0, 10);
+            Pageable pageable = PageRequest.of(0, 10, TaskSortField.ID.toSort(Sort.Direction.DESC));
             Task task = createTask(null);
             task = taskRepository.save(task);
             // when
-            Page<Task> actualPage = sut.getAllTasksByUser(email, pageable);
+            Page<Task> actualPage = getTasksOfUser(email, new TaskFilter(), pageable);
             // then
             assertNotNull(actualPage);
             assertEquals(1, actualPage.getTotalElements());
@@ -269,6 +522,396 @@ class TaskServiceImplTest {
         }
     }
 
+    @Test
+    void given_TasksInBothRoles_when_pagesOfTasksOfUserRequested_then_pagesFollowEachOtherWithoutGapsOrDuplicates() {
+        // given
+        String email = "test@example.com";
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Task task = createTask(null);
+            switch (i % 3) {
+                case 0 -> task.setAssignee("other@example.com");
+                case 1 -> task.setCreator("other@example.com").setAssignee(email);
+                default -> task.setAssignee(email);
+            }
+            expected.add(0, taskRepository.save(task).getId());
+            taskRepository.save(createTask(null).setCreator("other@example.com").setAssignee("other@example.com"));
+        }
+        Sort byIdDesc = TaskSortField.ID.toSort(Sort.Direction.DESC);
+        // when
+        List<Long> pages = new ArrayList<>();
+        long total = -1;
+        for (int page = 0; page < 3; page++) {
+            Page<Task> tasks = getTasksOfUser(email, new TaskFilter(), PageRequest.of(page, 3, byIdDesc));
+            pages.addAll(tasks.map(Task::getId).getContent());
+            total = tasks.getTotalElements();
+        }
+        // then
+        assertEquals(expected, pages);
+        assertEquals(7, total);
+    }
+
+    @Test
+    void given_UserTasksInDB_when_getTaskVersionsByUserInvoked_then_returnsVersionsOfPageWithoutLoadingTasks() {
+        // given
+        String email = "test@example.com";
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(taskRepository.save(createTask(null).setPriority(Priority.values()[i % 3])));
+        }
+        taskRepository.save(createTask(null).setCreator("other@example.com").setAssignee("other@example.com"));
+        entityManager.flush();
+        entityManager.clear();
+        PageRequest pageable = PageRequest.of(1, 2, TaskSortField.PRIORITY.toSort(Sort.Direction.DESC));
+        Page<Task> expected = taskRepository.findAll(TaskSpecifications.of(email, new TaskFilter(), pageable), pageable);
+        entityManager.clear();
+        // when
+        Page<TaskVersion> versions = sut.getTaskVersionsByUser(email, new TaskFilter(), pageable);
+        // then
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(expected.map(TaskVersion::of).getContent(), versions.getContent());
+        assertEquals(5, versions.getTotalElements());
+        Page<Task> loaded = sut.getTasks(versions);
+        assertEquals(expected.map(Task::getId).getContent(), loaded.map(Task::getId).getContent());
+        assertEquals(5, loaded.getTotalElements());
+        assertEquals(1, loaded.getNumber());
+    }
+
+    @Test
+    void given_TasksWithDifferentRoles_when_getTasksOfUserWithRoleFilterInvoked_then_returnsTasksOfThatRole() {
+        // given
+        String email = "test@example.com";
+        Task created = taskRepository.save(createTask(null));
+        Task assigned = taskRepository.save(createTask(null).setCreator("other@example.com").setAssignee(email));
+        taskRepository.save(createTask(null).setCreator("other@example.com"));
+        Pageable pageable = PageRequest.of(0, 10, TaskSortField.ID.toSort(Sort.Direction.DESC));
+        // when
+        Page<Task> any = getTasksOfUser(email, new TaskFilter(), pageable);
+        Page<Task> creator = getTasksOfUser(email, new TaskFilter().setRole(TaskRole.CREATOR), pageable);
+        Page<Task> assignee = getTasksOfUser(email, new TaskFilter().setRole(TaskRole.ASSIGNEE), pageable);
+        // then
+        assertEquals(List.of(assigned.getId(), created.getId()), any.map(Task::getId).getContent());
+        assertEquals(2, any.getTotalElements());
+        assertEquals(List.of(created.getId()), creator.map(Task::getId).getContent());
+        assertEquals(List.of(assigned.getId()), assignee.map(Task::getId).getContent());
+    }
+
+    @Test
+    void given_TasksWithDifferentAttributes_when_getTasksOfUserWithFilterInvoked_then_filteredInDatabase() {
+        // given
+        String email = "test@example.com";
+        LocalDateTime january = LocalDateTime.of(2024, 1, 15, 12, 0);
+        Task match = taskRepository.save(createTask(null).setStatus(Status.PENDING).setPriority(Priority.LOW).setCreatedAt(january));
+        taskRepository.save(createTask(null).setStatus(Status.COMPLETED).setPriority(Priority.LOW).setCreatedAt(january));
+        taskRepository.save(createTask(null).setStatus(Status.PENDING).setPriority(Priority.HIGH).setCreatedAt(january));
+        taskRepository.save(createTask(null).setStatus(Status.PENDING).setPriority(Priority.LOW).setCreatedAt(january.plusMonths(1)));
+        TaskFilter filter = new TaskFilter()
+                .setStatus(Status.PENDING)
+                .setPriority(Priority.LOW)
+                .setCreatedFrom(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .setCreatedTo(LocalDateTime.of(2024, 2, 1, 0, 0));
+        // when
+        Page<Task> actualPage = getTasksOfUser(email, filter, PageRequest.of(0, 10, TaskSortField.ID.toSort(Sort.Direction.DESC)));
+        // then
+        assertEquals(1, actualPage.getTotalElements());
+        assertEquals(match.getId(), actualPage.getContent().get(0).getId());
+    }
+
+    @Test
+    void given_TasksWithDifferentPriorities_when_getTasksOfUserSortedByPriorityInvoked_then_sortedWithIdTieBreak() {
+        // given
+        String email = "test@example.com";
+        Task lowFirst = taskRepository.save(createTask(null).setPriority(Priority.LOW));
+        Task high = taskRepository.save(createTask(null).setPriority(Priority.HIGH));
+        Task lowSecond = taskRepository.save(createTask(null).setPriority(Priority.LOW));
+        Pageable pageable = PageRequest.of(0, 10, TaskSortField.PRIORITY.toSort(Sort.Direction.DESC));
+        // when
+        Page<Task> actualPage = getTasksOfUser(email, new TaskFilter(), pageable);
+        // then
+        assertEquals(List.of(lowSecond.getId(), lowFirst.getId(), high.getId()), actualPage.map(Task::getId).getContent());
+    }
+
+    @Test
+    void given_TasksMatchingInDifferentFields_when_searchTasksInvoked_then_rankedAndPagedByCursor() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task inHeader = taskRepository.save(createTask(null).setHeader("Quarterly REPORT"));
+            Task inComment = taskRepository.save(createTask(null).setHeader("Budget"));
+            Task inDescription = taskRepository.save(createTask(null).setDescription("attach the report"));
+            taskRepository.save(createTask(null).setHeader("report").setCreator("other@example.com").setAssignee("other@example.com"));
+            sut.addComment(inComment.getId(), "see report draft");
+            entityManager.flush();
+            entityManager.clear();
+            // when
+            Slice<TaskSearchResult> firstSlice = sut.searchTasks("report", null, 2);
+            Slice<TaskSearchResult> secondSlice = sut.searchTasks("report", firstSlice.getContent().get(1).toCursor(), 2);
+            // then
+            assertTrue(firstSlice.hasNext());
+            assertEquals(List.of(inHeader.getId(), inDescription.getId()), firstSlice.map(result -> result.task().getId()).getContent());
+            assertFalse(secondSlice.hasNext());
+            assertEquals(List.of(inComment.getId()), secondSlice.map(result -> result.task().getId()).getContent());
+            assertTrue(Hibernate.isInitialized(secondSlice.getContent().get(0).task().getComments()));
+        }
+    }
+
+    @Test
+    void given_TasksWrittenThroughService_when_getTaskStatsInvoked_then_countersFollowEveryChange() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            List<Task> tasks = sut.createTasks(List.of(
+                    createTaskRequest().setStatus(Status.PENDING),
+                    createTaskRequest().setStatus(Status.PENDING),
+                    createTaskRequest().setStatus(Status.IN_PROGRESS).setAssignee("test@example.com")));
+            // when
+            sut.changeStatus(tasks.get(0).getId(), Status.COMPLETED, null);
+            sut.setAssignee(tasks.get(1).getId(), "test@example.com");
+            sut.updateTask(tasks.get(2).getId(), createTaskRequest().setStatus(Status.COMPLETED).setAssignee("assignee@mail.com"), null);
+            Task deleted = sut.createTask(createTaskRequest().setStatus(Status.PENDING));
+            sut.deleteTask(deleted.getId());
+            TaskStatsResponse stats = sut.getTaskStats();
+            // then
+            assertEquals(Map.of(Status.PENDING, 1L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 2L), stats.getCreated());
+            assertEquals(Map.of(Status.PENDING, 1L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 0L), stats.getAssigned());
+            assertEquals(Map.of(Status.PENDING, 0L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 2L),
+                    taskCounterService.getStats("assignee@mail.com").getAssigned());
+        }
+    }
+
+    @Test
+    void given_TasksChangedAfterSync_when_getTaskChangesInvoked_then_returnsChangedAndRemovedTasksInChangeOrder() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            List<Task> tasks = sut.createTasks(List.of(createTaskRequest(), createTaskRequest(), createTaskRequest()));
+            Long changedId = tasks.get(0).getId();
+            Long reassignedId = tasks.get(1).getId();
+            Long deletedId = tasks.get(2).getId();
+            entityManager.clear();
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("assignee@mail.com"));
+            TaskChanges initial = sut.getTaskChanges(0, 10);
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            sut.changeStatus(changedId, Status.COMPLETED, null);
+            sut.setAssignee(reassignedId, "new@mail.com");
+            sut.deleteTask(deletedId);
+            entityManager.clear();
+            // when
+            TaskChanges creatorChanges = sut.getTaskChanges(initial.cursor(), 10);
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("assignee@mail.com"));
+            TaskChanges firstPage = sut.getTaskChanges(initial.cursor(), 2);
+            TaskChanges secondPage = sut.getTaskChanges(firstPage.cursor(), 2);
+            TaskChanges upToDate = sut.getTaskChanges(secondPage.cursor(), 2);
+            // then
+            assertEquals(List.of(changedId, reassignedId, deletedId), initial.changed().stream().map(Task::getId).toList());
+            assertEquals(List.of(), initial.removed());
+            assertFalse(initial.hasMore());
+            assertEquals(List.of(changedId, reassignedId), creatorChanges.changed().stream().map(Task::getId).toList());
+            assertEquals(List.of(deletedId), creatorChanges.removed());
+            assertEquals(List.of(changedId), firstPage.changed().stream().map(Task::getId).toList());
+            assertEquals(Status.COMPLETED, firstPage.changed().get(0).getStatus());
+            assertEquals(List.of(reassignedId), firstPage.removed());
+            assertTrue(firstPage.hasMore());
+            assertEquals(List.of(), secondPage.changed());
+            assertEquals(List.of(deletedId), secondPage.removed());
+            assertFalse(secondPage.hasMore());
+            assertEquals(List.of(), upToDate.changed());
+            assertEquals(List.of(), upToDate.removed());
+            assertEquals(secondPage.cursor(), upToDate.cursor());
+        }
+    }
+
+    @Test
+    void given_LaterChangeCommittedFirst_when_getTaskChangesInvoked_then_cursorDoesNotSkipEarlierChange() throws Exception {
+        // given
+        TestTransaction.end();
+        Instant[] now = {Instant.parse("2026-01-01T00:00:00Z")};
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now[0]);
+        TaskChangeWatermark watermark = new TaskChangeWatermark(taskRepository, Duration.ofSeconds(15), clock);
+        when(taskChangeWatermark.upTo()).thenAnswer(invocation -> watermark.upTo());
+        Long earlierId = taskRepository.save(createTask(null)).getId();
+        Long laterId = taskRepository.save(createTask(null)).getId();
+        CountDownLatch earlierNumbered = new CountDownLatch(1);
+        CountDownLatch commitEarlier = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            watermark.sample();
+            now[0] = now[0].plusSeconds(15);
+            long synced = sut.getTaskChanges(0, 10).cursor();
+            // when
+            Future<?> earlier = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.markChanged(earlierId);
+                earlierNumbered.countDown();
+                awaitUninterruptibly(commitEarlier);
+            }));
+            assertTrue(earlierNumbered.await(10, TimeUnit.SECONDS));
+            // больший номер изменения фиксируется раньше меньшего
+            transactionTemplate.executeWithoutResult(status -> taskRepository.markChanged(laterId));
+            watermark.sample();
+            TaskChanges whileEarlierOpen = sut.getTaskChanges(synced, 10);
+            commitEarlier.countDown();
+            earlier.get(10, TimeUnit.SECONDS);
+            now[0] = now[0].plusSeconds(15);
+            TaskChanges afterLag = sut.getTaskChanges(whileEarlierOpen.cursor(), 10);
+            // then
+            assertEquals(List.of(), whileEarlierOpen.changed());
+            assertEquals(synced, whileEarlierOpen.cursor());
+            assertEquals(List.of(earlierId, laterId), afterLag.changed().stream().map(Task::getId).toList());
+            assertFalse(afterLag.hasMore());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void given_CountersOutOfSync_when_reconcileInvoked_then_countersRecomputedFromTasks() {
+        // given
+        taskRepository.save(createTask(null).setStatus(Status.PENDING));
+        taskRepository.save(createTask(null).setStatus(Status.PENDING));
+        taskCounterRepository.addDelta("test@example.com", TaskRole.CREATOR.ordinal(), Status.COMPLETED.ordinal(), 5);
+        taskRepository.flush();
+        // when
+        int counters = taskCounterService.reconcile();
+        TaskStatsResponse stats = taskCounterService.getStats("test@example.com");
+        // then
+        assertEquals(3, counters);
+        assertEquals(Map.of(Status.PENDING, 2L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 0L), stats.getCreated());
+        assertEquals(Map.of(Status.PENDING, 0L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 0L), stats.getAssigned());
+        assertEquals(2L, taskCounterService.getStats("assignee@mail.com").getAssigned().get(Status.PENDING));
+        assertEquals(0, taskCounterService.reconcile());
+    }
+
+    @Test
+    void given_TasksWithDifferentOwners_when_changeStatusesInvoked_then_returnsOutcomePerTaskAndUpdatesWithoutLoadingEntities() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task created = taskRepository.save(createTask(null).setStatus(Status.PENDING));
+            Task assigned = taskRepository.save(createTask(null).setCreator("other@mail.com").setAssignee("test@example.com").setStatus(Status.PENDING));
+            Task foreign = taskRepository.save(createTask(null).setCreator("other@mail.com").setStatus(Status.PENDING));
+            Task completed = taskRepository.save(createTask(null).setStatus(Status.COMPLETED));
+            entityManager.flush();
+            entityManager.clear();
+            taskCounterService.reconcile();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            Long missingId = completed.getId() + 100;
+            // when
+            List<BulkTaskResult> results = sut.changeStatuses(
+                    List.of(created.getId(), assigned.getId(), foreign.getId(), missingId, completed.getId(), created.getId()),
+                    Status.COMPLETED);
+            // then
+            assertEquals(List.of(
+                    new BulkTaskResult(created.getId(), BulkTaskResult.Outcome.UPDATED),
+                    new BulkTaskResult(assigned.getId(), BulkTaskResult.Outcome.UPDATED),
+                    new BulkTaskResult(foreign.getId(), BulkTaskResult.Outcome.FORBIDDEN),
+                    new BulkTaskResult(missingId, BulkTaskResult.Outcome.NOT_FOUND),
+                    new BulkTaskResult(completed.getId(), BulkTaskResult.Outcome.UNCHANGED)), results);
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(Status.COMPLETED, taskRepository.findById(created.getId()).orElseThrow().getStatus());
+            assertEquals(created.getVersion() + 1, taskRepository.findVersionById(created.getId()).orElseThrow());
+            assertEquals(completed.getVersion(), taskRepository.findVersionById(completed.getId()).orElseThrow());
+            assertEquals(Status.PENDING, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+            TaskStatsResponse stats = sut.getTaskStats();
+            assertEquals(Map.of(Status.PENDING, 0L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 2L), stats.getCreated());
+            assertEquals(Map.of(Status.PENDING, 0L, Status.IN_PROGRESS, 0L, Status.COMPLETED, 1L), stats.getAssigned());
+        }
+    }
+
+    @Test
+    void given_TasksWithDifferentCreators_when_setAssigneesInvoked_then_onlyOwnTasksAreReassigned() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Task own = taskRepository.save(createTask(null).setStatus(Status.PENDING));
+            Task assigned = taskRepository.save(createTask(null).setCreator("other@mail.com").setAssignee("test@example.com"));
+            entityManager.flush();
+            entityManager.clear();
+            taskCounterService.reconcile();
+            // when
+            List<BulkTaskResult> results = sut.setAssignees(List.of(own.getId(), assigned.getId()), "new@mail.com");
+            // then
+            assertEquals(List.of(
+                    new BulkTaskResult(own.getId(), BulkTaskResult.Outcome.UPDATED),
+                    new BulkTaskResult(assigned.getId(), BulkTaskResult.Outcome.FORBIDDEN)), results);
+            assertEquals("new@mail.com", taskRepository.findById(own.getId()).orElseThrow().getAssignee());
+            assertEquals("test@example.com", taskRepository.findById(assigned.getId()).orElseThrow().getAssignee());
+            assertEquals(1L, taskCounterService.getStats("new@mail.com").getAssigned().get(Status.PENDING));
+            assertEquals(0L, taskCounterService.getStats("assignee@mail.com").getAssigned().get(Status.PENDING));
+        }
+    }
+
+    @Test
+    void given_TaskInDB_when_getTaskSummariesByUserInvoked_then_returnsSummaryPage() {
+        // given
+        String email = "test@example.com";
+        Task task = taskRepository.save(createTask(null));
+        // when
+        Page<TaskSummaryResponse> actualPage = sut.getTaskSummariesByUser(email, PageRequest.of(0, 10));
+        // then
+        assertEquals(1, actualPage.getTotalElements());
+        TaskSummaryResponse summary = actualPage.getContent().get(0);
+        assertEquals(task.getId(), summary.id());
+        assertEquals(task.getHeader(), summary.header());
+        assertEquals(task.getStatus(), summary.status());
+        assertEquals(task.getPriority(), summary.priority());
+        assertEquals(task.getAssignee(), summary.assignee());
+    }
+
+    @Test
+    void given_TasksWithCommentsInDB_when_getTasksOfUserInvoked_then_commentsAreFetchedForWholePage() {
+        // given
+        String email = "test@example.com";
+        for (int i = 0; i < 3; i++) {
+            Task task = createTask(null);
+            task.getComments().add(createComment(task, "first"));
+            task.getComments().add(createComment(task, "second"));
+            taskRepository.save(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // when
+        Page<Task> actualPage = getTasksOfUser(email, new TaskFilter(), PageRequest.of(0, 10, TaskSortField.ID.toSort(Sort.Direction.DESC)));
+        Slice<Task> actualSlice = sut.getAllTasksByUserAfter(email, null, 10);
+        // then
+        assertEquals(3, actualPage.getNumberOfElements());
+        actualPage.forEach(task -> {
+            assertTrue(Hibernate.isInitialized(task.getComments()));
+            assertEquals(2, task.getComments().size());
+        });
+        actualSlice.forEach(task -> assertTrue(Hibernate.isInitialized(task.getComments())));
+    }
+
+    @Test
+    void given_ThreeTasksInDB_when_getAllTasksByUserAfterInvoked_then_returnsSlicesByCursor() {
+        // given
+        String email = "test@example.com";
+        Task oldest = taskRepository.save(createTask(null));
+        Task middle = taskRepository.save(createTask(null));
+        Task newest = taskRepository.save(createTask(null));
+        // when
+        Slice<Task> firstSlice = sut.getAllTasksByUserAfter(email, null, 2);
+        Slice<Task> secondSlice = sut.getAllTasksByUserAfter(email, middle.getId(), 2);
+        // then
+        assertTrue(firstSlice.hasNext());
+        assertEquals(2, firstSlice.getNumberOfElements());
+        assertEquals(newest.getId(), firstSlice.getContent().get(0).getId());
+        assertEquals(middle.getId(), firstSlice.getContent().get(1).getId());
+        assertFalse(secondSlice.hasNext());
+        assertEquals(1, secondSlice.getNumberOfElements());
+        assertEquals(oldest.getId(), secondSlice.getContent().get(0).getId());
+    }
+
     @Test
     void given_TaskIdExistsInDBandValidCommentDescription_when_addCommentInvoke_then_returnsUpdatedTask() {
         // given
@@ -288,4 +931,145 @@ class TaskServiceImplTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void given_TaskWithCommentsInDB_when_appendCommentInvoked_then_insertsCommentWithoutLoadingTask() {
+        // given
+        Task task = createTask(null);
+        task.getComments().add(createComment(task, "existing"));
+        task = taskRepository.save(task);
+        Long id = task.getId();
+        entityManager.flush();
+        entityManager.clear();
+        // when
+        Comment actualResult = sut.appendComment(id, "comment");
+        entityManager.flush();
+        // then
+        assertNotNull(actualResult.getId());
+        assertEquals("comment", actualResult.getDescription());
+        assertEquals(task.getCreator(), actualResult.getAuthor());
+        assertFalse(Hibernate.isInitialized(actualResult.getTask()));
+        entityManager.clear();
+        assertEquals(2, taskRepository.findWithCommentsById(id).orElseThrow().getComments().size());
+    }
+
+    @Test
+    void given_TaskIdDoesNotExistInDB_when_appendCommentInvoked_then_throwsTaskNotFoundException() {
+        // when then
+        assertThrows(TaskNotFoundException.class, () -> sut.appendComment(1L, "comment"));
+    }
+
+    @Test
+    void given_StaleExpectedVersion_when_updateTaskInvoked_then_throwsTaskVersionMismatchException() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Long id = taskRepository.save(createTask(null)).getId();
+            long staleVersion = sut.getTaskVersion(id) - 1;
+            TaskRequest taskRequest = createTaskRequest();
+            // when then
+            assertThrows(TaskVersionMismatchException.class, () -> sut.updateTask(id, taskRequest, staleVersion));
+        }
+    }
+
+    @Test
+    void given_TaskInDB_when_taskChangedAndCommentsAdded_then_versionIsIncrementedEachTime() {
+        // given
+        try (MockedStatic<UserUtils> mockedStatic = Mockito.mockStatic(UserUtils.class)) {
+            mockedStatic.when(UserUtils::getCurrentUserEmail).thenReturn(Optional.of("test@example.com"));
+            Long id = taskRepository.save(createTask(null)).getId();
+            entityManager.flush();
+            entityManager.clear();
+            long initialVersion = sut.getTaskVersion(id);
+            // when
+            sut.changeStatus(id, Status.COMPLETED, initialVersion);
+            entityManager.flush();
+            entityManager.clear();
+            sut.appendComment(id, "appended");
+            entityManager.flush();
+            entityManager.clear();
+            sut.addComment(id, "added");
+            // принудительное увеличение версии выполняется Hibernate при commit, а не при flush
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            // then
+            assertEquals(initialVersion + 3, sut.getTaskVersion(id));
+            assertEquals(initialVersion + 3, sut.getTaskResponseById(id).getVersion());
+        }
+    }
+
+    @Test
+    void given_TaskIdDoesNotExistInDB_when_getTaskVersionInvoked_then_throwsTaskNotFoundException() {
+        // when then
+        assertThrows(TaskNotFoundException.class, () -> sut.getTaskVersion(1L));
+    }
+
+    @Test
+    void given_UserTasksInDB_when_exportTasksByUserInvokedWithComments_then_writesAllTasksInIdOrderAndDetachesThem() throws Exception {
+        // given
+        Task first = createTask(null);
+        first.getComments().add(createComment(first, "first comment"));
+        first.getComments().add(createComment(first, "second comment"));
+        first = taskRepository.save(first);
+        Task second = taskRepository.save(createTask(null).setCreator("other@example.com").setAssignee("test@example.com"));
+        taskRepository.save(createTask(null).setCreator("other@example.com").setAssignee("other@example.com"));
+        entityManager.flush();
+        entityManager.clear();
+        RecordingExportWriter writer = new RecordingExportWriter();
+        // when
+        long exported = sut.exportTasksByUser("test@example.com", true, writer);
+        // then
+        assertEquals(2, exported);
+        assertEquals(List.of(first.getId(), second.getId()), writer.tasks.stream().map(TaskResponse::getId).toList());
+        assertEquals(2, writer.tasks.get(0).getComments().size());
+        assertTrue(writer.tasks.get(1).getComments().isEmpty());
+        assertTrue(writer.flushes > 0);
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void given_UserTasksWithCommentsInDB_when_exportTasksByUserInvokedWithoutComments_then_commentsAreNotLoaded() throws Exception {
+        // given
+        Task task = createTask(null);
+        task.getComments().add(createComment(task, "comment"));
+        taskRepository.save(task);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        RecordingExportWriter writer = new RecordingExportWriter();
+        // when
+        long exported = sut.exportTasksByUser("test@example.com", false, writer);
+        // then
+        assertEquals(1, exported);
+        assertNull(writer.tasks.get(0).getComments());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Страница задач пользователя так, как ее читает контроллер: версии страницы, затем сами задачи
+     */
+    private Page<Task> getTasksOfUser(String email, TaskFilter filter, Pageable pageable) {
+        return sut.getTasks(sut.getTaskVersionsByUser(email, filter, pageable));
+    }
+
+    private long countComments() {
+        return entityManager.getEntityManager().createQuery("SELECT count(c) FROM Comment c", Long.class).getSingleResult();
+    }
+
+    private static class RecordingExportWriter implements TaskExportWriter {
+        private final List<TaskResponse> tasks = new ArrayList<>();
+        private int flushes;
+
+        @Override
+        public void write(TaskResponse task) {
+            tasks.add(task);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.taskmanager.utils;
+
+import com.example.taskmanager.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    @Test
+    void givenId_whenEncodeAndDecode_thenReturnsSameId() {
+        String cursor = CursorUtils.encode(42L);
+
+        assertEquals(42L, CursorUtils.decode(cursor));
+    }
+
+    @Test
+    void givenNoCursor_whenDecode_thenReturnsNull() {
+        assertNull(CursorUtils.decode(null));
+        assertNull(CursorUtils.decode(""));
+    }
+
+    @Test
+    void givenMalformedCursor_whenDecode_thenThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decode(CursorUtils.encode(-1L)));
+    }
+
+    @Test
+    void givenRankedCursor_whenEncodeAndDecode_thenReturnsSamePosition() {
+        CursorUtils.RankedCursor position = new CursorUtils.RankedCursor(0.0607927f, 42L);
+
+        assertEquals(position, CursorUtils.decodeRanked(CursorUtils.encodeRanked(position)));
+        assertNull(CursorUtils.decodeRanked(null));
+    }
+
+    @Test
+    void givenMalformedRankedCursor_whenDecodeRanked_thenThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeRanked(CursorUtils.encode(42L)));
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeRanked(CursorUtils.encodeRanked(new CursorUtils.RankedCursor(Float.NaN, 1L))));
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeRanked("not a cursor"));
+    }
+}
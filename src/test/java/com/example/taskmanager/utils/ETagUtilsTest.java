@@ -0,0 +1,30 @@
+package com.example.taskmanager.utils;
+
+import com.example.taskmanager.exception.TaskVersionMismatchException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagUtilsTest {
+
+    @Test
+    void givenVersion_whenOfAndParseVersion_thenReturnsSameVersion() {
+        String eTag = ETagUtils.of(7L);
+
+        assertEquals("\"7\"", eTag);
+        assertEquals(7L, ETagUtils.parseVersion(eTag));
+    }
+
+    @Test
+    void givenNoIfMatchOrWildcard_whenParseVersion_thenReturnsNull() {
+        assertNull(ETagUtils.parseVersion(null));
+        assertNull(ETagUtils.parseVersion("*"));
+    }
+
+    @Test
+    void givenWeakOrMalformedETag_whenParseVersion_thenThrowsTaskVersionMismatchException() {
+        assertThrows(TaskVersionMismatchException.class, () -> ETagUtils.parseVersion("W/\"7\""));
+        assertThrows(TaskVersionMismatchException.class, () -> ETagUtils.parseVersion("\"abc\""));
+        assertThrows(TaskVersionMismatchException.class, () -> ETagUtils.parseVersion("7"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlFingerprintUtilsTest {
+
+    @Test
+    void givenQueriesDifferingOnlyInLiterals_whenNormalize_thenSameFingerprint() {
+        String first = SqlFingerprintUtils.normalize("SELECT * FROM task t1_0 WHERE t1_0.id = 15 AND t1_0.title = 'It''s done'");
+        String second = SqlFingerprintUtils.normalize("select *\n  from task t1_0\n where t1_0.id = 7 and t1_0.title = 'other'");
+
+        assertEquals("select * from task t1_0 where t1_0.id = ? and t1_0.title = ?", first);
+        assertEquals(first, second);
+        assertEquals(SqlFingerprintUtils.fingerprint(first), SqlFingerprintUtils.fingerprint(second));
+        assertEquals(8, SqlFingerprintUtils.fingerprint(first).length());
+    }
+
+    @Test
+    void givenInListsOfDifferentLength_whenNormalize_thenListsCollapsed() {
+        String first = SqlFingerprintUtils.normalize("select c from comment c where c.task_id in (?, ?, ?)");
+        String second = SqlFingerprintUtils.normalize("select c from comment c where c.task_id in (1,2)");
+
+        assertEquals("select c from comment c where c.task_id in (?...)", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void givenDifferentQueries_whenFingerprint_thenDifferentFingerprints() {
+        assertNotEquals(SqlFingerprintUtils.fingerprint(SqlFingerprintUtils.normalize("select * from task")),
+                SqlFingerprintUtils.fingerprint(SqlFingerprintUtils.normalize("select * from comment")));
+    }
+}
@@ -39,6 +39,14 @@ public class TestHelper {
                 .setStatus(Status.IN_PROGRESS);
     }
 
+    public static Comment createComment(Task task, String description) {
+        return new Comment()
+                .setTask(task)
+                .setDescription(description)
+                .setAuthor(task.getCreator())
+                .setCreatedAt(LocalDateTime.now());
+    }
+
     public static TaskRequest createTaskRequest() {
         return new TaskRequest()
                 .setAssignee("assignee@mail.com")
@@ -70,6 +78,7 @@ public class TestHelper {
                 .setAssignee("assignee@example.com")
                 .setPriority(Priority.HIGH)
                 .setStatus(Status.IN_PROGRESS)
+                .setVersion(0L)
                 .setComments(List.of(comment1, comment2));
     }
 
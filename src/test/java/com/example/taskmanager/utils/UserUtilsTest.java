@@ -65,4 +65,20 @@ class UserUtilsTest {
             assertTrue(email.isEmpty());
         }
     }
+
+    @Test
+    void givenNoAuthentication_whenGetCurrentUserEmail_thenReturnsEmpty() {
+        // Создаем мок SecurityContext без Authentication (например, в потоке планировщика)
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(null);
+
+        // Мокаем SecurityContextHolder
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = Mockito.mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // Вызываем метод и проверяем результат
+            Optional<String> email = UserUtils.getCurrentUserEmail();
+            assertTrue(email.isEmpty());
+        }
+    }
 }